@@ -0,0 +1,36 @@
+package gametoolsexamples.bench;
+
+import gametools.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+//A game that never opens a window
+//Game code that asks for painter() gets the off screen image, library draws only land there if the library uses painter() too
+//DrawBenchmark checks that before it times anything
+class BenchGame extends Game {
+    final BufferedImage canvas;
+    final Graphics2D graphics;
+    
+    BenchGame(int width, int height) {
+        canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        graphics = canvas.createGraphics();
+    }
+    
+    @Override
+    protected void window() {
+        setBackground(Color.BLACK); //The window is never created so the benchmarks are not paced by the FPS
+    }
+    
+    @Override
+    protected void setup() {}
+    
+    @Override
+    protected void run() {}
+    
+    @Override
+    protected Graphics2D painter() {
+        return graphics;
+    }
+}
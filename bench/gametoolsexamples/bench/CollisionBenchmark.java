@@ -0,0 +1,93 @@
+package gametoolsexamples.bench;
+
+import gametools.*;
+import gametools.Group;
+import static gametools.Tools.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+//Measures the group collision checks that the example games run every frame
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    @Param({"10", "100", "1000"})
+    int count;
+    
+    Group targets, projectiles;
+    List<Sprite> moving;
+    double[] speedX, speedY;
+    Sprite player;
+    SpatialHash hash;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42); //Fixed seed so every run checks the same layout
+        BufferedImage ship = generateBox(Color.WHITE, 48, 48);
+        BufferedImage bolt = generateBox(Color.WHITE, 10, 10);
+        targets = new Group();
+        projectiles = new Group();
+        for (int i = 0; i < count; i++) {
+            targets.add(new Sprite(random.nextInt(800), random.nextInt(800), ship));
+            projectiles.add(new Sprite(random.nextInt(800), random.nextInt(800), bolt));
+        }
+        //Every projectile flies in its own direction, like bullets do in Space
+        moving = projectiles.getAll();
+        speedX = new double[count];
+        speedY = new double[count];
+        for (int i = 0; i < count; i++) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            speedX[i] = Math.cos(angle) * 10;
+            speedY[i] = Math.sin(angle) * 10;
+        }
+        player = new Sprite(376, 376, ship);
+        hash = new SpatialHash(64);
+        hash.update(projectiles);
+        //The hash uses its own copy of the collision check, so make sure it finds the same sprites as the library first
+        for (int frame = 0; frame < 100; frame++) {
+            move();
+            hash.update(projectiles);
+            if (!new HashSet<>(hash.getAllWithin(targets)).equals(new HashSet<>(targets.getAllWithin(projectiles))))
+                throw new IllegalStateException("SpatialHash and Group.getAllWithin found different sprites on frame " + frame);
+        }
+    }
+    
+    @Benchmark
+    public List<Sprite> withinSprite() {
+        return targets.getAllWithin(player);
+    }
+    
+    //The projectiles move first, so both group checks pay for the same movement
+    @Benchmark
+    public List<Sprite> withinGroup() {
+        move();
+        return targets.getAllWithin(projectiles);
+    }
+    
+    //The same query as withinGroup, answered by the spatial hash which has to move the projectiles between cells
+    @Benchmark
+    public List<Sprite> withinGroupHashed() {
+        move();
+        hash.update(projectiles);
+        return hash.getAllWithin(targets);
+    }
+    
+    //Moves every projectile one frame, projectiles that leave the screen come back on the other side
+    void move() {
+        for (int i = 0; i < count; i++) {
+            Sprite projectile = moving.get(i);
+            projectile.translate(speedX[i], speedY[i]);
+            if (projectile.getX() < 0 || projectile.getX() >= 800 || projectile.getY() < 0 || projectile.getY() >= 800)
+                projectile.setPosition((projectile.getX() + 800) % 800, (projectile.getY() + 800) % 800);
+        }
+    }
+}
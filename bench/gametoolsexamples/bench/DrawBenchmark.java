@@ -0,0 +1,109 @@
+package gametoolsexamples.bench;
+
+import gametools.*;
+import gametools.Group;
+import gametoolsexamples.EffectLayer;
+import gametoolsexamples.FrameSheet;
+import static gametools.Tools.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+//Measures drawing groups onto an off screen image, including groups of animated sprites
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrawBenchmark {
+    @Param({"10", "100", "1000"})
+    int count;
+    
+    BenchGame game;
+    Group still, rotated, animated;
+    Animation explosion;
+    FrameSheet sheet;
+    EffectLayer effects;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        game = new BenchGame(800, 800);
+        Random random = new Random(42);
+        BufferedImage image = generateBox(Color.WHITE, 30, 30);
+        //A small sprite sheet made of solid boxes so no image files are needed
+        BufferedImage[] frames = new BufferedImage[8];
+        for (int i = 0; i < frames.length; i++) frames[i] = generateBox(new Color(i * 30, 0, 0), 30, 30);
+        explosion = new Animation(frames, 2, 0);
+        sheet = new FrameSheet(frames, 2, 0);
+        effects = new EffectLayer(count);
+        still = new Group();
+        rotated = new Group();
+        animated = new Group();
+        for (int i = 0; i < count; i++) {
+            still.add(new Sprite(random.nextInt(800), random.nextInt(800), image));
+            Sprite turned = new Sprite(random.nextInt(800), random.nextInt(800), image);
+            turned.setAngle(random.nextInt(360));
+            rotated.add(turned);
+            Sprite exploding = new Sprite(random.nextInt(800), random.nextInt(800), image);
+            exploding.setAnimation(new Animation(explosion));
+            animated.add(exploding);
+        }
+        //Group.drawAll does not take the game, so make sure it really draws onto the canvas
+        //Otherwise the draw benchmarks would only time the bookkeeping around drawing
+        still.drawAll();
+        if (!drawn()) throw new IllegalStateException("Library draws do not reach BenchGame.canvas, the draw timings would not include any drawing");
+    }
+    
+    //True if anything other than the black background is on the canvas
+    boolean drawn() {
+        for (int x = 0; x < game.canvas.getWidth(); x++) {
+            for (int y = 0; y < game.canvas.getHeight(); y++) {
+                if ((game.canvas.getRGB(x, y) & 0xFFFFFF) != 0) return true;
+            }
+        }
+        return false;
+    }
+    
+    @Benchmark
+    public BufferedImage drawStill() {
+        still.drawAll();
+        return game.canvas;
+    }
+    
+    @Benchmark
+    public BufferedImage drawRotated() {
+        rotated.drawAll();
+        return game.canvas;
+    }
+    
+    //Every draw also steps the animation of each sprite
+    //The animation only plays once, so finished ones are started again like new explosions would be in a game
+    //That copies one animation per sprite every 16 draws, the cost of a copy on its own is measured by copyAnimation
+    @Benchmark
+    public BufferedImage drawAnimated() {
+        animated.drawAll();
+        for (Sprite sprite : animated.getAll()) {
+            if (sprite.getAnimation().isComplete()) sprite.setAnimation(new Animation(explosion));
+        }
+        return game.canvas;
+    }
+    
+    //Starting an explosion copies the animation
+    @Benchmark
+    public Animation copyAnimation() {
+        return new Animation(explosion);
+    }
+    
+    //Starts the same amount of effects from a shared frame sheet and plays one tick of them
+    @Benchmark
+    public BufferedImage playEffects() {
+        effects.clear();
+        for (int i = 0; i < count; i++) effects.play(sheet, (i * 37) % 800, (i * 91) % 800);
+        effects.drawAll(game.graphics);
+        return game.canvas;
+    }
+}
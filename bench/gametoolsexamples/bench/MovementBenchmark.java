@@ -0,0 +1,70 @@
+package gametoolsexamples.bench;
+
+import gametools.*;
+import static gametools.Tools.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+//Measures the sprite movement and turning that every bullet and enemy does each frame
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovementBenchmark {
+    @Param({"10", "100", "1000"})
+    int count;
+    
+    Sprite[] sprites;
+    Sprite[] targets;
+    int next;
+    Position mouse;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        BufferedImage image = generateBox(Color.WHITE, 10, 10);
+        sprites = new Sprite[count];
+        for (int i = 0; i < count; i++) {
+            sprites[i] = new Sprite(random.nextInt(800), random.nextInt(800), image);
+            sprites[i].setAngle(random.nextInt(360));
+            sprites[i].setSpeed(10);
+            sprites[i].setRelationalMovement(true);
+        }
+        //Two targets in opposite corners, see turnTo
+        targets = new Sprite[] {new Sprite(0, 0, image), new Sprite(790, 790, image)};
+        mouse = new Position(200, 600);
+    }
+    
+    //Bullets move forward relative to their angle
+    @Benchmark
+    public Sprite[] move() {
+        for (Sprite sprite : sprites) {
+            sprite.move(Sprite.Direction.EAST);
+            sprite.move(Sprite.Direction.WEST); //Moves back so the sprites stay in place between iterations
+        }
+        return sprites;
+    }
+    
+    //The player faces the mouse every frame
+    @Benchmark
+    public Sprite[] face() {
+        for (Sprite sprite : sprites) sprite.face(mouse);
+        return sprites;
+    }
+    
+    //Enemies gradually turn toward the player
+    //A fixed target would be faced after the first few calls and the rest would time the case where nothing turns
+    //Switching between two targets every call keeps every sprite turning
+    @Benchmark
+    public Sprite[] turnTo() {
+        Sprite target = targets[next ^= 1];
+        for (Sprite sprite : sprites) sprite.turnTo(target);
+        return sprites;
+    }
+}
@@ -0,0 +1,89 @@
+package gametoolsexamples.bench;
+
+import gametools.*;
+import gametools.Group;
+import static gametools.Tools.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+//Measures removing a batch of sprites from a group, the way the games remove everything that collided
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RemoveBenchmark {
+    static final int BATCH = 32; //Removals per invocation, a single removal is too quick to time on its own
+    
+    @Param({"10", "100", "1000"})
+    int count;
+    
+    //Percent of the group that gets removed at once
+    @Param({"1", "10", "50"})
+    int percent;
+    
+    List<Sprite> sprites, removed;
+    Group[] groups;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        BufferedImage image = generateBox(Color.WHITE, 10, 10);
+        sprites = new ArrayList<>();
+        removed = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Sprite sprite = new Sprite(random.nextInt(800), random.nextInt(800), image);
+            sprites.add(sprite);
+            if (random.nextInt(100) < percent) removed.add(sprite);
+        }
+    }
+    
+    //The groups have to be refilled before they can be removed from again
+    //Filling a batch of groups at once keeps the timing overhead small next to the removals being measured
+    @Setup(Level.Invocation)
+    public void fill() {
+        groups = new Group[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            groups[i] = new Group();
+            groups[i].add(sprites);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Group[] remove() {
+        for (Group group : groups) group.remove(removed);
+        return groups;
+    }
+    
+    //Single pass removal that keeps the order of the group
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Group[] rebuild() {
+        for (Group group : groups) rebuild(group, removed);
+        return groups;
+    }
+    
+    //Same as group.remove(sprites) but goes through the group once, by rebuilding it from the sprites that are kept
+    //The games don't use this, it is only worth it if this benchmark shows group.remove searching the group for every sprite
+    //It also assumes clear(false) keeps group settings like removeWhenOffScreen and the library does not say so
+    static void rebuild(Group group, List<Sprite> sprites) {
+        Map<Sprite, Boolean> marked = new IdentityHashMap<>(sprites.size() * 2);
+        for (Sprite sprite : sprites) marked.put(sprite, true);
+        List<Sprite> kept = new ArrayList<>();
+        for (Sprite sprite : group.getAll()) {
+            if (!marked.containsKey(sprite)) kept.add(sprite);
+        }
+        group.clear(false);
+        group.add(kept);
+    }
+}
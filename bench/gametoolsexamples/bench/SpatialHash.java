@@ -0,0 +1,164 @@
+package gametoolsexamples.bench;
+
+import gametools.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+//A spatial hash splits the screen into a grid of cells so collision checks only look at nearby sprites
+//It avoids testing every pair of sprites, the pairs it does test use a copy of the library's rectangle check
+//CollisionBenchmark makes sure it finds the same sprites as the group collision methods before timing it
+class SpatialHash {
+    final int cellSize;
+    final Map<Long, List<Sprite>> cells; //Every cell that has at least one sprite touching it
+    final Map<Sprite, Bounds> bounds; //The range of cells each sprite was last stored in
+    Group group;
+    int stamp;
+    
+    //Cell size should be around the size of the largest sprite that gets hashed
+    public SpatialHash(int cellSize) {
+        this.cellSize = cellSize;
+        cells = new HashMap<>();
+        bounds = new IdentityHashMap<>();
+    }
+    
+    //Brings the hash up to date with the group, only sprites that changed cells get moved
+    public void update(Group group) {
+        this.group = group;
+        stamp++;
+        for (Sprite sprite : group.getAll()) {
+            int minX = cell(sprite.getX()), minY = cell(sprite.getY());
+            int maxX = cell(sprite.getX() + sprite.getWidth()), maxY = cell(sprite.getY() + sprite.getHeight());
+            Bounds old = bounds.get(sprite);
+            if (old == null) {
+                old = new Bounds();
+                bounds.put(sprite, old);
+            }
+            else if (old.minX == minX && old.minY == minY && old.maxX == maxX && old.maxY == maxY) {
+                old.stamp = stamp; //Sprite is still in the same cells so nothing needs to change
+                continue;
+            }
+            else unlink(sprite, old);
+            old.minX = minX;
+            old.minY = minY;
+            old.maxX = maxX;
+            old.maxY = maxY;
+            old.stamp = stamp;
+            link(sprite, old);
+        }
+        //Any sprite that was not seen this update has left the group
+        if (bounds.size() > group.size()) {
+            List<Sprite> removed = new ArrayList<>();
+            for (Map.Entry<Sprite, Bounds> entry : bounds.entrySet()) {
+                if (entry.getValue().stamp != stamp) removed.add(entry.getKey());
+            }
+            for (Sprite sprite : removed) unlink(sprite, bounds.remove(sprite));
+        }
+    }
+    
+    //Same as group.getAllWithin(hashedGroup), returns the sprites of the group that collide with any hashed sprite
+    public List<Sprite> getAllWithin(Group group) {
+        return getAllWithin(group.getAll());
+    }
+    
+    //Same as getAllWithin(Group) but for a list of sprites, the result keeps the order of the list
+    public List<Sprite> getAllWithin(List<Sprite> sprites) {
+        List<Sprite> within = new ArrayList<>();
+        for (Sprite sprite : sprites) {
+            if (collides(sprite)) within.add(sprite);
+        }
+        return within;
+    }
+    
+    //Same as hashedGroup.getAllWithin(sprites), returns the hashed sprites that collide with anything in the list
+    public List<Sprite> getAllTouching(List<Sprite> sprites) {
+        Map<Sprite, Boolean> touched = new IdentityHashMap<>();
+        for (Sprite sprite : sprites) {
+            forEachCell(sprite, (candidate) -> {
+                if (overlaps(sprite, candidate)) touched.put(candidate, true);
+            });
+        }
+        List<Sprite> within = new ArrayList<>();
+        if (touched.isEmpty()) return within;
+        //Goes through the hashed group so the result is in the same order as the group
+        for (Sprite sprite : group.getAll()) {
+            if (touched.containsKey(sprite)) within.add(sprite);
+        }
+        return within;
+    }
+    
+    //Checks if a sprite collides with any of the hashed sprites
+    public boolean collides(Sprite sprite) {
+        int minX = cell(sprite.getX()), minY = cell(sprite.getY());
+        int maxX = cell(sprite.getX() + sprite.getWidth()), maxY = cell(sprite.getY() + sprite.getHeight());
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                List<Sprite> cell = cells.get(key(x, y));
+                if (cell == null) continue;
+                for (Sprite other : cell) {
+                    if (overlaps(sprite, other)) return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    //Removes every sprite from the hash
+    public void clear() {
+        cells.clear();
+        bounds.clear();
+    }
+    
+    void forEachCell(Sprite sprite, Consumer<Sprite> action) {
+        int minX = cell(sprite.getX()), minY = cell(sprite.getY());
+        int maxX = cell(sprite.getX() + sprite.getWidth()), maxY = cell(sprite.getY() + sprite.getHeight());
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                List<Sprite> cell = cells.get(key(x, y));
+                if (cell != null) for (Sprite other : cell) action.accept(other);
+            }
+        }
+    }
+    
+    void link(Sprite sprite, Bounds area) {
+        for (int x = area.minX; x <= area.maxX; x++) {
+            for (int y = area.minY; y <= area.maxY; y++) {
+                cells.computeIfAbsent(key(x, y), (key) -> new ArrayList<>()).add(sprite);
+            }
+        }
+    }
+    
+    void unlink(Sprite sprite, Bounds area) {
+        for (int x = area.minX; x <= area.maxX; x++) {
+            for (int y = area.minY; y <= area.maxY; y++) {
+                Long key = key(x, y);
+                List<Sprite> cell = cells.get(key);
+                if (cell == null) continue;
+                cell.remove(sprite);
+                if (cell.isEmpty()) cells.remove(key);
+            }
+        }
+    }
+    
+    int cell(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+    
+    //Rectangular collision, written to match the group collision methods
+    static boolean overlaps(Sprite a, Sprite b) {
+        return a.getX() < b.getX() + b.getWidth() && b.getX() < a.getX() + a.getWidth()
+            && a.getY() < b.getY() + b.getHeight() && b.getY() < a.getY() + a.getHeight();
+    }
+    
+    static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+    
+    static class Bounds {
+        int minX, minY, maxX, maxY, stamp;
+    }
+}
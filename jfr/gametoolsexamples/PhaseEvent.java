@@ -0,0 +1,40 @@
+package gametoolsexamples;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+//Flight recorder event for one phase of one frame, shows up in JDK Mission Control under Game
+//Kept in its own source folder that is only compiled when the JDK has the flight recorder, FrameProfiler finds it at runtime
+@Name("gametoolsexamples.Phase")
+@Label("Frame Phase")
+@Category("Game")
+@Description("Time spent in one phase of a game frame")
+class PhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+    
+    @Label("Frame")
+    long frame;
+    
+    @Label("Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long time;
+    
+    //Made by FrameProfiler by name, so nothing outside this folder refers to the flight recorder classes
+    static class Sink implements FrameProfiler.Events {
+        //Only called while profiling, the event is skipped if the flight recorder is not recording it
+        @Override
+        public void phase(String phase, long frame, long time) {
+            PhaseEvent event = new PhaseEvent();
+            if (!event.isEnabled()) return;
+            event.phase = phase;
+            event.frame = frame;
+            event.time = time;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package gametoolsexamples;
+
+import static gametools.Tools.*;
+
+import java.awt.image.BufferedImage;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+//Assets keeps every loaded image for the whole program, so loading the same path again returns straight away
+//Images are decoded on background threads, all at once, and can be started early with the preload methods
+//This matters for restarts: setup runs again after every death, and would otherwise decode every image again
+public class Assets {
+    //A fork join pool adds a thread when one waits for another load, so packing an atlas while its images decode cannot get stuck
+    //Its threads also do not keep java running after the game closes
+    static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    static final Map<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    static final Map<String, CompletableFuture<TextureAtlas>> atlases = new ConcurrentHashMap<>();
+    
+    //Same as loadImage, but only the first call for each path actually loads it
+    public static BufferedImage image(String path) {
+        return get(preload(path));
+    }
+    
+    //Same as TextureAtlas.load, but the atlas is only packed once for each folder
+    public static TextureAtlas atlas(Class<?> base, String folder) {
+        return get(preloadAtlas(base, folder));
+    }
+    
+    //Starts loading the image in the background, image() then waits for it to finish
+    public static CompletableFuture<BufferedImage> preload(String path) {
+        return load(images, path, () -> loadImage(path));
+    }
+    
+    //Starts loading every image at once, the returned future finishes when all of them are done
+    public static CompletableFuture<Void> preload(String... paths) {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[paths.length];
+        for (int i = 0; i < paths.length; i++) loads[i] = preload(paths[i]);
+        return CompletableFuture.allOf(loads);
+    }
+    
+    //Starts packing the atlas in the background, for example in main before the window is made
+    public static CompletableFuture<TextureAtlas> preloadAtlas(Class<?> base, String folder) {
+        //Keyed by where the folder really is, so classes in the same package share one atlas
+        URL url = base.getResource(folder);
+        String key = url == null? base.getName() + "/" + folder : url.toString();
+        return load(atlases, key, () -> TextureAtlas.load(base, folder));
+    }
+    
+    //Forgets every image and atlas, they are loaded again the next time they are asked for
+    public static void clear() {
+        images.clear();
+        atlases.clear();
+    }
+    
+    //Decodes the images in parallel without keeping them, used for images that only get copied somewhere else
+    static List<BufferedImage> decodeAll(List<String> paths) {
+        List<CompletableFuture<BufferedImage>> loads = new ArrayList<>();
+        for (String path : paths) {
+            CompletableFuture<BufferedImage> cached = images.get(path);
+            loads.add(cached != null? cached : CompletableFuture.supplyAsync(() -> loadImage(path), POOL));
+        }
+        List<BufferedImage> decoded = new ArrayList<>();
+        for (CompletableFuture<BufferedImage> load : loads) decoded.add(get(load));
+        return decoded;
+    }
+    
+    //Only the first call for a key starts the loader, everyone else gets the same future
+    static <T> CompletableFuture<T> load(Map<String, CompletableFuture<T>> cache, String key, Supplier<T> loader) {
+        CompletableFuture<T> load = cache.get(key);
+        if (load != null) return load;
+        CompletableFuture<T> started = new CompletableFuture<>();
+        load = cache.putIfAbsent(key, started);
+        if (load != null) return load; //Another thread started it first
+        POOL.execute(() -> {
+            try {
+                started.complete(loader.get());
+            }
+            catch (RuntimeException | Error ex) {
+                cache.remove(key, started); //Loads that fail are forgotten so the next call can try again
+                started.completeExceptionally(ex);
+            }
+        });
+        return started;
+    }
+    
+    //Waits for the load and throws the original error instead of a wrapped one
+    static <T> T get(CompletableFuture<T> load) {
+        try {
+            return load.join();
+        }
+        catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) throw (RuntimeException) ex.getCause();
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package gametoolsexamples;
+
+import static gametools.Tools.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Remembers generated box images so the same color and size is only generated once
+//When the cache is full the box that was used the longest time ago is thrown away
+public class BoxCache {
+    final Map<Long, BufferedImage> boxes;
+    int hits, misses;
+    
+    public BoxCache(int capacity) {
+        //Access order makes the map move every box that gets used to the end, so the eldest entry is the least recently used
+        boxes = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    
+    //Same as generateBox, but returns the cached image in the screen format if the box was generated before
+    public BufferedImage get(Color color, int width, int height) {
+        long key = ((long) color.getRGB() << 32) | ((width & 0xffffL) << 16) | (height & 0xffffL);
+        BufferedImage box = boxes.get(key);
+        if (box != null) {
+            hits++;
+            return box;
+        }
+        misses++;
+        box = Images.toCompatible(generateBox(color, width, height));
+        boxes.put(key, box);
+        return box;
+    }
+    
+    public int getHits() {
+        return hits;
+    }
+    
+    public int getMisses() {
+        return misses;
+    }
+    
+    //Percent of requests that did not need to generate a new box
+    public double getHitRate() {
+        int total = hits + misses;
+        return total == 0? 0 : hits * 100.0 / total;
+    }
+    
+    public int size() {
+        return boxes.size();
+    }
+    
+    //Removes every box and resets the counters
+    public void clear() {
+        boxes.clear();
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,64 @@
+package gametoolsexamples;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+//Dirty regions are the parts of the screen that changed since the last frame and need to be drawn again
+//Overlapping regions are merged, and if there are too many they are merged into one region around all of them
+public class DirtyRegions {
+    final List<Rectangle> regions;
+    final List<Rectangle> spare; //Rectangles are reused between frames instead of creating new ones
+    final int limit;
+    
+    public DirtyRegions(int limit) {
+        this.limit = limit;
+        regions = new ArrayList<>();
+        spare = new ArrayList<>();
+    }
+    
+    //Marks an area as changed
+    public void add(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        Rectangle added = spare.isEmpty()? new Rectangle() : spare.remove(spare.size() - 1);
+        added.setBounds(x, y, width, height);
+        //Keeps merging until the new region does not touch any other, since growing can make it touch more
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < regions.size(); i++) {
+                Rectangle region = regions.get(i);
+                if (region.intersects(added)) {
+                    added.add(region);
+                    spare.add(regions.remove(i));
+                    merged = true;
+                    break;
+                }
+            }
+        }
+        regions.add(added);
+        if (regions.size() > limit) {
+            //Too many small regions cost more than drawing one bigger region
+            for (int i = 1; i < regions.size(); i++) {
+                regions.get(0).add(regions.get(i));
+                spare.add(regions.get(i));
+            }
+            regions.subList(1, regions.size()).clear();
+        }
+    }
+    
+    //The regions that changed, only valid until the next clear
+    public List<Rectangle> getRegions() {
+        return regions;
+    }
+    
+    public boolean isEmpty() {
+        return regions.isEmpty();
+    }
+    
+    //Call once the regions have been drawn
+    public void clear() {
+        spare.addAll(regions);
+        regions.clear();
+    }
+}
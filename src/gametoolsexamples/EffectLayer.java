@@ -0,0 +1,84 @@
+package gametoolsexamples;
+
+import gametools.*;
+
+import java.awt.Graphics2D;
+import java.util.Arrays;
+
+//An effect layer plays short animations that do not move or collide, like explosions
+//Each effect is only a frame sheet, a position and a tick, stored in arrays so starting one does not create any objects
+public class EffectLayer {
+    FrameSheet[] sheets;
+    int[] x, y, ticks;
+    int count;
+    TextureAtlas atlas; //Optional, frames from the atlas are drawn straight from the atlas image
+    
+    public EffectLayer(int capacity) {
+        sheets = new FrameSheet[capacity];
+        x = new int[capacity];
+        y = new int[capacity];
+        ticks = new int[capacity];
+    }
+    
+    //Starts playing the frame sheet centered on the position
+    public void play(FrameSheet sheet, Position center) {
+        play(sheet, center.getX(), center.getY());
+    }
+    
+    public void play(FrameSheet sheet, double centerX, double centerY) {
+        if (count == sheets.length) grow();
+        sheets[count] = sheet;
+        x[count] = (int) (centerX - sheet.getWidth() / 2.0);
+        y[count] = (int) (centerY - sheet.getHeight() / 2.0);
+        ticks[count] = 0;
+        count++;
+    }
+    
+    //Frame sheets made from atlas.getSheet are drawn from the single atlas image from now on
+    public void useAtlas(TextureAtlas atlas) {
+        this.atlas = atlas;
+    }
+    
+    //Draws the current frame of every effect and moves them forward by one tick, finished effects are removed
+    public void drawAll(Graphics2D painter) {
+        int i = 0;
+        while (i < count) {
+            FrameSheet sheet = sheets[i];
+            if (sheet.isComplete(ticks[i])) {
+                remove(i); //The last effect takes its place, so the same index is checked again
+                continue;
+            }
+            if (atlas != null) atlas.draw(painter, sheet.frame(ticks[i]), x[i], y[i]);
+            else painter.drawImage(sheet.frame(ticks[i]), x[i], y[i], null);
+            ticks[i]++;
+            i++;
+        }
+    }
+    
+    //Amount of effects that are currently playing
+    public int size() {
+        return count;
+    }
+    
+    public void clear() {
+        Arrays.fill(sheets, 0, count, null);
+        count = 0;
+    }
+    
+    void remove(int index) {
+        count--;
+        sheets[index] = sheets[count];
+        x[index] = x[count];
+        y[index] = y[count];
+        ticks[index] = ticks[count];
+        sheets[count] = null;
+    }
+    
+    void grow() {
+        int capacity = Math.max(sheets.length * 2, 16);
+        sheets = Arrays.copyOf(sheets, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        ticks = Arrays.copyOf(ticks, capacity);
+    }
+}
@@ -0,0 +1,31 @@
+package gametoolsexamples;
+
+import gametools.*;
+
+import java.awt.image.BufferedImage;
+
+//Works out which way a sprite is facing by moving a probe sprite forward the same way the sprite would move
+//The library does not say which way its angles turn or what they are measured in, so nothing here assumes it
+public class Facing {
+    //Each thread gets its own probe since moving it is not thread safe
+    static final ThreadLocal<Sprite> PROBE = ThreadLocal.withInitial(() -> new Sprite(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB)));
+    static final double FAR = 1000; //Probe speed for rotations, far enough that any rounding of positions does not change the angle
+    
+    //Rotation in radians that turns an image facing right the way the sprite moves forward, ready for an AffineTransform
+    public static double rotation(Sprite sprite) {
+        Sprite probe = step(sprite.getAngle(), FAR);
+        return Math.atan2(probe.getY(), probe.getX());
+    }
+    
+    //Moves the probe forward from zero at the angle and speed, its position afterwards is the distance moved in one step
+    //The probe is only valid until the next call on the same thread
+    static Sprite step(double angle, double speed) {
+        Sprite probe = PROBE.get();
+        probe.setPosition(0, 0);
+        probe.setAngle(angle);
+        probe.setSpeed(speed);
+        probe.setRelationalMovement(true);
+        probe.move(Sprite.Direction.EAST);
+        return probe;
+    }
+}
@@ -0,0 +1,447 @@
+package gametoolsexamples;
+
+import gametools.*;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.DisplayMode;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.JFrame;
+import javax.swing.WindowConstants;
+
+//A fixed step loop runs the game logic on its own thread at a fixed rate and draws on another thread as fast as the screen allows
+//The logic thread fills a snapshot of where everything is after each tick, and the drawing thread smoothly blends
+//between the previous and current position of everything, so a slow frame never slows down the game itself
+public class FixedStepLoop {
+    
+    //The game logic, update is called exactly once per tick no matter how fast the screen draws
+    public interface Simulation {
+        void update(Headless.Input input);
+        //Adds everything that should be drawn to the snapshot, called after every update
+        void snapshot(Snapshot snapshot);
+    }
+    
+    //Everything needed to draw one tick, only ever changed by the logic thread while the drawing thread is not using it
+    public static class Snapshot {
+        BufferedImage[] images = new BufferedImage[64];
+        double[] fromX = new double[64], fromY = new double[64], fromRotation = new double[64];
+        double[] toX = new double[64], toY = new double[64], toRotation = new double[64];
+        int count;
+        long sequence, time;
+        final Map<Sprite, double[]> previous; //Where each sprite was in the last snapshot, shared by all snapshots
+        
+        Snapshot(Map<Sprite, double[]> previous) {
+            this.previous = previous;
+        }
+        
+        //Adds an image that moves from one position to another during the tick, rotation is in radians
+        public void add(BufferedImage image, double x1, double y1, double rotation1, double x2, double y2, double rotation2) {
+            if (count == images.length) grow();
+            images[count] = image;
+            fromX[count] = x1;
+            fromY[count] = y1;
+            fromRotation[count] = rotation1;
+            toX[count] = x2;
+            toY[count] = y2;
+            toRotation[count] = rotation2;
+            count++;
+        }
+        
+        //Adds an image that does not move or rotate
+        public void add(BufferedImage image, double x, double y) {
+            add(image, x, y, 0, x, y, 0);
+        }
+        
+        //Adds a sprite, its previous position is remembered from the last snapshot it was added to
+        //The image is rotated the way the sprite moves forward, the same as projectiles in a projectile group
+        public void add(BufferedImage image, Sprite sprite) {
+            double rotation = Facing.rotation(sprite);
+            double[] last = previous.get(sprite);
+            if (last == null) {
+                last = new double[3];
+                previous.put(sprite, last);
+                add(image, sprite.getX(), sprite.getY(), rotation, sprite.getX(), sprite.getY(), rotation);
+            }
+            else add(image, last[0], last[1], last[2], sprite.getX(), sprite.getY(), rotation);
+            last[0] = sprite.getX();
+            last[1] = sprite.getY();
+            last[2] = rotation;
+        }
+        
+        //Forgets where a removed sprite was, so it does not blend in from its old position if it gets added again
+        public void forget(Sprite sprite) {
+            previous.remove(sprite);
+        }
+        
+        void clear() {
+            Arrays.fill(images, 0, count, null);
+            count = 0;
+        }
+        
+        void grow() {
+            int capacity = images.length * 2;
+            images = Arrays.copyOf(images, capacity);
+            fromX = Arrays.copyOf(fromX, capacity);
+            fromY = Arrays.copyOf(fromY, capacity);
+            fromRotation = Arrays.copyOf(fromRotation, capacity);
+            toX = Arrays.copyOf(toX, capacity);
+            toY = Arrays.copyOf(toY, capacity);
+            toRotation = Arrays.copyOf(toRotation, capacity);
+        }
+    }
+    
+    final Simulation simulation;
+    final long step; //Nanoseconds between ticks
+    long refresh; //Nanoseconds between screen refreshes, drawing more often than this would never be seen
+    final JFrame frame;
+    final Canvas canvas;
+    final Color background;
+    final AtomicIntegerArray keys; //Written by the event thread and read by the logic thread, so a plain array might never show a key press
+    volatile boolean mouse, running;
+    volatile Position mousePosition;
+    final AtomicReference<Snapshot> ready; //The newest finished snapshot, swapped between the two threads
+    final Map<Sprite, double[]> previous; //Only used by the logic thread
+    final AffineTransform transform;
+    boolean dirtyRendering;
+    Thread logic, render;
+    volatile boolean damaged; //Set when the window system wiped the canvas, for example after the window was covered
+    
+    public FixedStepLoop(String title, int width, int height, Color background, int ticksPerSecond, Simulation simulation) {
+        this.simulation = simulation;
+        this.background = background;
+        step = 1_000_000_000L / ticksPerSecond;
+        keys = new AtomicIntegerArray(256);
+        mousePosition = new Position(0, 0);
+        previous = new IdentityHashMap<>();
+        ready = new AtomicReference<>(new Snapshot(previous));
+        transform = new AffineTransform();
+        canvas = new Canvas() {
+            //Only called by the window system in dirty rendering mode, the render thread redraws everything on its next frame
+            @Override
+            public void paint(Graphics graphics) {
+                damaged = true;
+            }
+            
+            @Override
+            public void update(Graphics graphics) {
+                damaged = true;
+            }
+        };
+        canvas.setPreferredSize(new Dimension(width, height));
+        canvas.setIgnoreRepaint(true); //Drawing is done by the render thread, not by the window system
+        frame = new JFrame(title);
+        frame.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE); //Closing stops both threads before the window goes away
+        frame.setResizable(false);
+        frame.add(canvas);
+        frame.pack();
+        listen();
+    }
+    
+    //Only draws the parts of the screen that changed, which saves a lot of power when most of the screen stands still
+    //Images should be added to the snapshots in the same order every tick, since changes are found by comparing them in order
+    //Has to be called before start, since start sets up the buffers for the chosen mode
+    public void setDirtyRendering(boolean enabled) {
+        if (logic != null) throw new IllegalStateException("Dirty rendering has to be chosen before the loop is started");
+        dirtyRendering = enabled;
+        canvas.setIgnoreRepaint(!enabled); //Dirty rendering needs to know when the window system wiped the canvas
+    }
+    
+    //Opens the window and starts both threads
+    public void start() {
+        frame.setVisible(true);
+        //Page flipping when the screen supports it, otherwise a back buffer that gets copied
+        //Dirty rendering keeps its own frame instead, since flipped pages lose what was drawn on them
+        if (!dirtyRendering) canvas.createBufferStrategy(2);
+        DisplayMode mode = frame.getGraphicsConfiguration().getDevice().getDisplayMode();
+        int rate = mode.getRefreshRate() == DisplayMode.REFRESH_RATE_UNKNOWN? 60 : mode.getRefreshRate();
+        refresh = 1_000_000_000L / rate;
+        running = true;
+        logic = new Thread(this::logicLoop, "Logic");
+        render = new Thread(this::renderLoop, "Render");
+        //Daemon threads never keep java running on their own, even if something goes wrong while stopping
+        logic.setDaemon(true);
+        render.setDaemon(true);
+        logic.start();
+        render.start();
+    }
+    
+    //Stops both threads and closes the window, also called when the window is closed
+    public void stop() {
+        running = false;
+        //Waits for the threads to finish their current tick and frame so nothing draws onto the canvas after it is gone
+        join(logic);
+        join(render);
+        frame.dispose();
+    }
+    
+    //Runs one tick every step, catching up with extra ticks if it fell behind
+    void logicLoop() {
+        Snapshot back = new Snapshot(previous);
+        Headless.Input input = new Headless.Input() {
+            @Override
+            public boolean keyPressed(int key) {
+                return key >= 0 && key < keys.length() && keys.get(key) != 0;
+            }
+            
+            @Override
+            public boolean mousePressed() {
+                return mouse;
+            }
+            
+            @Override
+            public Position mousePosition() {
+                return mousePosition;
+            }
+        };
+        long sequence = 0, next = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            if (now < next) {
+                sleep(next - now);
+                continue;
+            }
+            simulation.update(input);
+            back.clear();
+            simulation.snapshot(back);
+            back.sequence = ++sequence;
+            back.time = next;
+            back = ready.getAndSet(back); //Publishes the new snapshot and takes back the old one to fill next tick
+            next += step;
+            //If the game fell far behind, skip ahead instead of running a burst of ticks
+            if (System.nanoTime() - next > step * 5) next = System.nanoTime();
+        }
+    }
+    
+    //Draws the newest snapshot as often as possible, blending each image between its last two positions
+    void renderLoop() {
+        if (dirtyRendering) {
+            dirtyLoop();
+            return;
+        }
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        Snapshot front = new Snapshot(previous); //Swapped with the logic thread, which is the only one that fills snapshots
+        Frame current = new Frame();
+        long next = System.nanoTime();
+        while (running) {
+            front = newest(front);
+            current.blend(front, blendAmount(front));
+            do {
+                do {
+                    Graphics2D graphics = (Graphics2D) strategy.getDrawGraphics();
+                    graphics.setColor(background);
+                    graphics.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+                    draw(graphics, current);
+                    graphics.dispose();
+                }
+                while (strategy.contentsRestored());
+                strategy.show();
+            }
+            while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync(); //Some systems queue up drawing, this makes sure the frame is really on the screen
+            next = waitForRefresh(next);
+        }
+    }
+    
+    //Keeps the last frame around and only draws and shows the regions where an image moved, appeared or disappeared
+    void dirtyLoop() {
+        BufferedImage screen = Images.compatibleImage(canvas.getWidth(), canvas.getHeight());
+        Snapshot front = new Snapshot(previous);
+        Frame current = new Frame(), shown = new Frame();
+        DirtyRegions dirty = new DirtyRegions(16);
+        dirty.add(0, 0, screen.getWidth(), screen.getHeight()); //The first frame is drawn in full
+        long next = System.nanoTime();
+        while (running) {
+            front = newest(front);
+            current.blend(front, blendAmount(front));
+            if (damaged) {
+                damaged = false;
+                dirty.add(0, 0, screen.getWidth(), screen.getHeight());
+            }
+            //Anything that is different from what is on screen marks both where it was and where it is now
+            for (int i = 0; i < Math.max(current.count, shown.count); i++) {
+                if (i < current.count && i < shown.count && current.same(i, shown)) continue;
+                if (i < shown.count) shown.mark(i, dirty);
+                if (i < current.count) current.mark(i, dirty);
+            }
+            if (dirty.isEmpty()) {
+                next = waitForRefresh(next); //Nothing changed, so nothing is drawn until the next refresh
+                continue;
+            }
+            Graphics2D graphics = screen.createGraphics();
+            Graphics2D window = (Graphics2D) canvas.getGraphics();
+            for (Rectangle region : dirty.getRegions()) {
+                graphics.setClip(region);
+                graphics.setColor(background);
+                graphics.fill(region);
+                draw(graphics, current); //Images outside the clip are skipped by Java2D without drawing
+                if (window != null) window.drawImage(screen, region.x, region.y, region.x + region.width, region.y + region.height,
+                    region.x, region.y, region.x + region.width, region.y + region.height, null);
+            }
+            graphics.dispose();
+            if (window != null) window.dispose();
+            dirty.clear();
+            Frame swap = shown;
+            shown = current;
+            current = swap;
+            Toolkit.getDefaultToolkit().sync();
+            next = waitForRefresh(next);
+        }
+    }
+    
+    //Sleeps until the next screen refresh and returns the time of the one after, so frames are only drawn as often as they can be shown
+    long waitForRefresh(long next) {
+        long now = System.nanoTime();
+        if (now < next) sleep(next - now);
+        next += refresh;
+        //A slow frame starts the timing over instead of drawing a burst of frames to catch up
+        if (System.nanoTime() > next) next = System.nanoTime() + refresh;
+        return next;
+    }
+    
+    //Takes the newest snapshot from the logic thread if there is one
+    Snapshot newest(Snapshot front) {
+        return ready.get().sequence > front.sequence? ready.getAndSet(front) : front;
+    }
+    
+    //How far between the last tick and the next one the current moment is
+    double blendAmount(Snapshot snapshot) {
+        return Math.max(0, Math.min(1, (System.nanoTime() - snapshot.time) / (double) step));
+    }
+    
+    void draw(Graphics2D graphics, Frame frame) {
+        for (int i = 0; i < frame.count; i++) {
+            BufferedImage image = frame.images[i];
+            if (frame.rotation[i] == 0) graphics.drawImage(image, (int) Math.round(frame.x[i]), (int) Math.round(frame.y[i]), null);
+            else {
+                transform.setToTranslation(frame.x[i] + image.getWidth() / 2.0, frame.y[i] + image.getHeight() / 2.0);
+                transform.rotate(frame.rotation[i]);
+                transform.translate(-image.getWidth() / 2.0, -image.getHeight() / 2.0);
+                graphics.drawImage(image, transform, null);
+            }
+        }
+    }
+    
+    //Where every image is drawn in one frame, after blending the snapshot
+    static class Frame {
+        BufferedImage[] images = new BufferedImage[64];
+        double[] x = new double[64], y = new double[64], rotation = new double[64];
+        int count;
+        
+        void blend(Snapshot snapshot, double blend) {
+            if (images.length < snapshot.count) {
+                images = new BufferedImage[snapshot.images.length];
+                x = new double[snapshot.images.length];
+                y = new double[snapshot.images.length];
+                rotation = new double[snapshot.images.length];
+            }
+            for (int i = 0; i < snapshot.count; i++) {
+                images[i] = snapshot.images[i];
+                x[i] = snapshot.fromX[i] + (snapshot.toX[i] - snapshot.fromX[i]) * blend;
+                y[i] = snapshot.fromY[i] + (snapshot.toY[i] - snapshot.fromY[i]) * blend;
+                //Blends the angle the short way around the circle
+                double turn = Math.IEEEremainder(snapshot.toRotation[i] - snapshot.fromRotation[i], Math.PI * 2);
+                rotation[i] = snapshot.fromRotation[i] + turn * blend;
+            }
+            count = snapshot.count;
+        }
+        
+        //Checks if the image at the index would be drawn exactly the same in both frames
+        boolean same(int i, Frame other) {
+            return images[i] == other.images[i] && Math.round(x[i]) == Math.round(other.x[i])
+                && Math.round(y[i]) == Math.round(other.y[i]) && rotation[i] == other.rotation[i];
+        }
+        
+        //Marks the area covered by the image at the index, rotated images can cover up to their diagonal
+        void mark(int i, DirtyRegions dirty) {
+            BufferedImage image = images[i];
+            if (rotation[i] == 0) {
+                dirty.add((int) Math.round(x[i]), (int) Math.round(y[i]), image.getWidth(), image.getHeight());
+                return;
+            }
+            int size = (int) Math.ceil(Math.hypot(image.getWidth(), image.getHeight())) + 2;
+            int centerX = (int) Math.round(x[i] + image.getWidth() / 2.0), centerY = (int) Math.round(y[i] + image.getHeight() / 2.0);
+            dirty.add(centerX - size / 2, centerY - size / 2, size, size);
+        }
+    }
+    
+    void listen() {
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent event) {
+                stop();
+            }
+        });
+        canvas.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent event) {
+                if (event.getKeyCode() < keys.length()) keys.set(event.getKeyCode(), 1);
+            }
+            
+            @Override
+            public void keyReleased(KeyEvent event) {
+                if (event.getKeyCode() < keys.length()) keys.set(event.getKeyCode(), 0);
+            }
+        });
+        MouseAdapter mouseAdapter = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent event) {
+                mouse = true;
+            }
+            
+            @Override
+            public void mouseReleased(MouseEvent event) {
+                mouse = false;
+            }
+            
+            @Override
+            public void mouseMoved(MouseEvent event) {
+                mousePosition = new Position(event.getX(), event.getY());
+            }
+            
+            @Override
+            public void mouseDragged(MouseEvent event) {
+                mouseMoved(event);
+            }
+        };
+        canvas.addMouseListener(mouseAdapter);
+        canvas.addMouseMotionListener(mouseAdapter);
+    }
+    
+    //Waits for the thread to end, unless it is the thread calling this, like a simulation stopping its own loop
+    static void join(Thread thread) {
+        if (thread == null || thread == Thread.currentThread()) return;
+        try {
+            thread.join();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
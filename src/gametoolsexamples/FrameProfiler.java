@@ -0,0 +1,179 @@
+package gametoolsexamples;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+//A frame profiler measures how long each part of a frame takes, to find out what makes a game stutter
+//Phases are marked in order: each mark counts the time since the previous mark toward that phase
+//When the profiler is disabled every method returns straight away, so it can be left in the game code
+public class FrameProfiler {
+    static final long BUCKET = 10_000; //Histogram buckets are ten microseconds wide
+    static final int BUCKETS = 10_000; //Up to a tenth of a second, anything slower goes in the last bucket
+    
+    final boolean enabled;
+    final long budget; //Time of one frame at the target FPS
+    String[] names;
+    long[][] histograms;
+    long[] last; //Time of each phase in the last frame
+    int phases;
+    final long[] frames; //Histogram of the time between frames
+    long frameCount, dropped, frameStart, markTime;
+    long allocated, frameAllocation;
+    Events events; //Flight recorder events, null when they are not available
+    final ThreadMXBean threads;
+    
+    //The frames per second is used to work out which frames were dropped
+    public FrameProfiler(boolean enabled, int fps) {
+        this.enabled = enabled;
+        budget = 1_000_000_000L / fps;
+        names = new String[8];
+        histograms = new long[8][];
+        last = new long[8];
+        frames = enabled? new long[BUCKETS] : null;
+        threads = ManagementFactory.getThreadMXBean();
+        if (enabled) {
+            try {
+                //Only built when the JDK has the flight recorder (Java 11, or Java 8 from update 262), so it is loaded by name
+                events = (Events) Class.forName("gametoolsexamples.PhaseEvent$Sink").getDeclaredConstructor().newInstance();
+            }
+            catch (ReflectiveOperationException | LinkageError ex) {
+                events = null;
+            }
+        }
+    }
+    
+    //Receives the time of every phase, implemented by the flight recorder event in the jfr folder
+    interface Events {
+        void phase(String name, long frame, long time);
+    }
+    
+    //Adds a phase and returns its number, phases should be added once in setup
+    public int phase(String name) {
+        if (phases == names.length) {
+            names = Arrays.copyOf(names, phases * 2);
+            histograms = Arrays.copyOf(histograms, phases * 2);
+            last = Arrays.copyOf(last, phases * 2);
+        }
+        names[phases] = name;
+        histograms[phases] = enabled? new long[BUCKETS] : null;
+        return phases++;
+    }
+    
+    //Call at the very start of each frame
+    public void startFrame() {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        if (frameStart != 0) {
+            long time = now - frameStart;
+            frames[bucket(time)]++;
+            //A frame only counts as dropped once it runs past the next frame's slot
+            //Frames a little over budget are normal since the sleep between frames is never exact
+            if (time > budget * 3 / 2) dropped++;
+        }
+        long bytes = allocatedBytes();
+        frameAllocation = bytes < 0 || frameStart == 0? -1 : bytes - allocated;
+        allocated = bytes;
+        frameStart = now;
+        markTime = now;
+        frameCount++;
+    }
+    
+    //Counts the time since the last mark (or the start of the frame) toward the phase
+    public void mark(int phase) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        long time = now - markTime;
+        markTime = now;
+        histograms[phase][bucket(time)]++;
+        last[phase] = time;
+        if (events != null) events.phase(names[phase], frameCount, time);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    //Time in nanoseconds that the given percent of the phase's measurements were faster than
+    public long percentile(int phase, double percent) {
+        return enabled? percentile(histograms[phase], percent) : 0;
+    }
+    
+    //Same as percentile for the time between frames
+    public long framePercentile(double percent) {
+        return enabled? percentile(frames, percent) : 0;
+    }
+    
+    public long getDroppedFrames() {
+        return dropped;
+    }
+    
+    public long getFrameCount() {
+        return frameCount;
+    }
+    
+    //Bytes allocated by the game thread during the last full frame, or -1 if the JVM cannot tell
+    public long getFrameAllocation() {
+        return frameAllocation;
+    }
+    
+    //Clears every measurement
+    public void reset() {
+        if (!enabled) return;
+        for (int i = 0; i < phases; i++) Arrays.fill(histograms[i], 0);
+        Arrays.fill(frames, 0);
+        frameCount = 0;
+        dropped = 0;
+        frameStart = 0;
+    }
+    
+    //Draws the measurements in the corner of the screen, only call this while the overlay is wanted as it creates text every frame
+    public void drawOverlay(Graphics2D painter, int x, int y) {
+        if (!enabled) return;
+        int lineHeight = painter.getFontMetrics().getHeight();
+        painter.setColor(new Color(0, 0, 0, 160));
+        painter.fillRect(x, y, 260, lineHeight * (phases + 3) + 6);
+        painter.setColor(Color.WHITE);
+        y += lineHeight;
+        painter.drawString(String.format("frame p50 %.2f  p99 %.2f ms", millis(framePercentile(50)), millis(framePercentile(99))), x + 4, y);
+        y += lineHeight;
+        painter.drawString("dropped " + dropped + " of " + frameCount + ", " + (frameAllocation < 0? "?" : frameAllocation / 1024 + "") + " KB/frame", x + 4, y);
+        for (int i = 0; i < phases; i++) {
+            y += lineHeight;
+            painter.drawString(String.format("%-10s %.2f  p99 %.2f ms", names[i], millis(last[i]), millis(percentile(i, 99))), x + 4, y);
+        }
+    }
+    
+    long allocatedBytes() {
+        //The HotSpot version of the thread bean can count allocated bytes for a thread
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled())
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+    
+    static int bucket(long time) {
+        return (int) Math.min(BUCKETS - 1, time / BUCKET);
+    }
+    
+    static long percentile(long[] histogram, double percent) {
+        long total = 0;
+        for (long count : histogram) total += count;
+        if (total == 0) return 0;
+        long target = (long) Math.ceil(total * percent / 100);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= target) return (i + 1) * BUCKET; //Upper edge of the bucket so the result is never too optimistic
+        }
+        return histogram.length * BUCKET;
+    }
+    
+    static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
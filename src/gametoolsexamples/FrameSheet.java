@@ -0,0 +1,36 @@
+package gametoolsexamples;
+
+import java.awt.image.BufferedImage;
+
+//A frame sheet holds the frames of an animation that never change, so it can be shared by every effect that plays it
+//Unlike copying an animation, playing a frame sheet only needs a tick counter for each effect
+public final class FrameSheet {
+    final BufferedImage[] frames;
+    final int speed, repeats; //Same meaning as the speed and repeats of an animation
+    final int length; //Amount of ticks the whole animation lasts, including repeats
+    
+    //Speed is the amount of ticks each frame is shown for, repeats is how many extra times the animation plays
+    public FrameSheet(BufferedImage[] frames, int speed, int repeats) {
+        this.frames = frames.clone(); //Copied so that changing the passed in array does not change the sheet
+        this.speed = Math.max(speed, 1);
+        this.repeats = repeats;
+        length = this.frames.length * this.speed * (repeats + 1);
+    }
+    
+    //The frame that is shown at the given tick
+    public BufferedImage frame(int tick) {
+        return frames[(tick / speed) % frames.length];
+    }
+    
+    public boolean isComplete(int tick) {
+        return tick >= length;
+    }
+    
+    public int getWidth() {
+        return frames[0].getWidth();
+    }
+    
+    public int getHeight() {
+        return frames[0].getHeight();
+    }
+}
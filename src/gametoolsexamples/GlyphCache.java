@@ -0,0 +1,87 @@
+package gametoolsexamples;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+//A glyph cache draws text from letters that were drawn onto images ahead of time
+//This skips the text layout that drawString does, and drawing numbers does not create a new string every frame
+//Only the printable ASCII characters are cached, anything else is skipped
+public class GlyphCache {
+    static final char FIRST = ' ', LAST = '~';
+    
+    final BufferedImage[] glyphs;
+    final int[] advances; //How far to move right after each character
+    final int ascent, height;
+    final char[] digits; //Reused when drawing numbers
+    
+    //Draws every character once in the font and color, the same font that would be passed to painter().setFont
+    public GlyphCache(Font font, Color color) {
+        glyphs = new BufferedImage[LAST - FIRST + 1];
+        advances = new int[glyphs.length];
+        digits = new char[11]; //Enough for every int, including the minus sign
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D measure = scratch.createGraphics();
+        FontMetrics metrics = measure.getFontMetrics(font);
+        measure.dispose();
+        ascent = metrics.getAscent();
+        height = metrics.getHeight();
+        for (char c = FIRST; c <= LAST; c++) {
+            int advance = metrics.charWidth(c);
+            advances[c - FIRST] = advance;
+            if (c == ' ') continue; //Spaces only need to move the position
+            //Some letters draw a little outside of their advance, so the image gets extra room on both sides
+            int padding = font.getSize() / 4 + 1;
+            BufferedImage glyph = Images.compatibleImage(advance + padding * 2, height);
+            Graphics2D graphics = glyph.createGraphics();
+            graphics.setFont(font);
+            graphics.setColor(color);
+            graphics.drawString(String.valueOf(c), padding, ascent);
+            graphics.dispose();
+            glyphs[c - FIRST] = glyph;
+        }
+    }
+    
+    //Same as painter.drawString, the y position is the baseline of the text, returns the x position where the text ends
+    public int drawString(Graphics2D painter, CharSequence text, int x, int y) {
+        for (int i = 0; i < text.length(); i++) x = drawChar(painter, text.charAt(i), x, y);
+        return x;
+    }
+    
+    //Draws a number without turning it into a string first, returns the x position where the number ends
+    public int drawInt(Graphics2D painter, int value, int x, int y) {
+        int length = 0;
+        //Works with negative numbers so that the smallest int does not overflow when flipped
+        int rest = value > 0? -value : value;
+        do {
+            digits[length++] = (char) ('0' - rest % 10);
+            rest /= 10;
+        }
+        while (rest != 0);
+        if (value < 0) x = drawChar(painter, '-', x, y);
+        while (length > 0) x = drawChar(painter, digits[--length], x, y);
+        return x;
+    }
+    
+    //Width the text would take up when drawn
+    public int width(CharSequence text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= FIRST && c <= LAST) width += advances[c - FIRST];
+        }
+        return width;
+    }
+    
+    int drawChar(Graphics2D painter, char c, int x, int y) {
+        if (c < FIRST || c > LAST) return x;
+        BufferedImage glyph = glyphs[c - FIRST];
+        if (glyph != null) {
+            int padding = (glyph.getWidth() - advances[c - FIRST]) / 2;
+            painter.drawImage(glyph, x - padding, y - ascent, null);
+        }
+        return x + advances[c - FIRST];
+    }
+}
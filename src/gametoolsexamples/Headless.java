@@ -0,0 +1,191 @@
+package gametoolsexamples;
+
+import gametools.*;
+import static gametools.Tools.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+//Headless mode runs a game's logic as fast as possible without opening a window
+//Games check isEnabled() to skip creating the window and read their input, painter and screen size from here instead
+//The library only makes the screen area for lockMovementArea along with the window, so headless games call keepOnScreen instead
+public class Headless {
+    static Input input;
+    static BufferedImage canvas; //Off screen image that the painter draws onto
+    static Graphics2D painter;
+    static int width, height;
+    
+    //Supplies the input a player would normally give through the keyboard and mouse
+    public interface Input {
+        boolean keyPressed(int key);
+        boolean mousePressed();
+        Position mousePosition();
+        //Called once before every tick so the input can change over time
+        default void next(long tick) {}
+        //The seed the game gives its random numbers, so the same input always plays the same game
+        default long seed() {
+            return 0;
+        }
+    }
+    
+    //The main java method, runs one of the example games headless and prints how fast the logic runs
+    //Running with "replay <file> [times]" plays back a recording from InputRecorder instead of random input
+    public static void main(String[] args) {
+        initialize(Headless.class);
+        if (args.length > 1 && args[0].equals("replay")) {
+            int times = args.length > 2? Integer.parseInt(args[2]) : 1;
+            for (int i = 0; i < times; i++) {
+                try (InputReplay replay = new InputReplay(args[1])) {
+                    System.out.printf("%s: replayed %d ticks at %.0f ticks per second%n",
+                        replay.getName(), replay.length(), simulate(replay.getName(), replay, replay.length(), replay.getWidth(), replay.getHeight()));
+                }
+            }
+            return;
+        }
+        String game = args.length > 0? args[0] : "space";
+        long ticks = args.length > 1? Long.parseLong(args[1]) : 100000;
+        Input random = new RandomInput(args.length > 2? Long.parseLong(args[2]) : 0);
+        System.out.printf("%s: %d ticks at %.0f ticks per second%n", game, ticks, simulate(game, random, ticks, 800, 800));
+    }
+    
+    //Runs one of the example games by name on a screen of the given size
+    static double simulate(String game, Input source, long ticks, int width, int height) {
+        switch (game.toLowerCase()) {
+            case "simple":
+                return simulate(Simple::new, Simple::setup, Simple::run, source, ticks, width, height);
+            case "platformer":
+                return simulate(Platformer::new, Platformer::setup, Platformer::run, source, ticks, width, height);
+            case "space":
+            default:
+                return simulate(Space::new, Space::setup, Space::run, source, ticks, width, height);
+        }
+    }
+    
+    //Creates the game, runs its setup and then steps it for the given amount of ticks, returns the ticks per second
+    public static <T extends Game> double simulate(Supplier<T> constructor, Consumer<T> setup, Consumer<T> run, Input source, long ticks) {
+        return simulate(constructor, setup, run, source, ticks, 800, 800);
+    }
+    
+    public static <T extends Game> double simulate(Supplier<T> constructor, Consumer<T> setup, Consumer<T> run, Input source, long ticks, int width, int height) {
+        input = source;
+        canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        painter = canvas.createGraphics();
+        Headless.width = width;
+        Headless.height = height;
+        try {
+            T game = constructor.get(); //The game skips creating its window while headless mode is enabled
+            setup.accept(game);
+            long start = System.nanoTime();
+            for (long tick = 0; tick < ticks; tick++) {
+                input.next(tick);
+                run.accept(game);
+            }
+            return ticks / ((System.nanoTime() - start) / 1e9);
+        }
+        finally {
+            painter.dispose();
+            painter = null;
+            canvas = null;
+            input = null;
+        }
+    }
+    
+    //True while a game is being simulated
+    public static boolean isEnabled() {
+        return input != null;
+    }
+    
+    public static Input input() {
+        return input;
+    }
+    
+    public static Graphics2D painter() {
+        return painter;
+    }
+    
+    //Size of the screen the game is simulated on, games return these from getWidth and getHeight
+    public static int width() {
+        return width;
+    }
+    
+    public static int height() {
+        return height;
+    }
+    
+    public static Position center() {
+        return new Position(width / 2.0, height / 2.0);
+    }
+    
+    //Does what lockMovementArea does with the screen area, call it after moving the sprite
+    public static void keepOnScreen(Sprite sprite) {
+        sprite.setPosition(Math.max(0, Math.min(width - sprite.getWidth(), sprite.getX())),
+            Math.max(0, Math.min(height - sprite.getHeight(), sprite.getY())));
+    }
+    
+    //Input that never presses anything
+    public static final Input NONE = new Input() {
+        @Override
+        public boolean keyPressed(int key) {
+            return false;
+        }
+        
+        @Override
+        public boolean mousePressed() {
+            return false;
+        }
+        
+        @Override
+        public Position mousePosition() {
+            return new Position(400, 400);
+        }
+    };
+    
+    //Input that mashes random keys and moves the mouse around, seeded so a run can be repeated
+    public static class RandomInput implements Input {
+        final Random random;
+        final long seed;
+        final boolean[] keys;
+        boolean mouse;
+        Position position;
+        
+        public RandomInput(long seed) {
+            this.seed = seed;
+            random = new Random(seed);
+            keys = new boolean[256];
+            position = new Position(400, 400);
+        }
+        
+        @Override
+        public void next(long tick) {
+            //Keys are held for a while like a real player would, instead of changing every tick
+            if (tick % 10 == 0) {
+                for (int i = 0; i < keys.length; i++) keys[i] = random.nextInt(4) == 0;
+                mouse = random.nextBoolean();
+                position = new Position(random.nextInt(800), random.nextInt(800));
+            }
+        }
+        
+        @Override
+        public long seed() {
+            return seed;
+        }
+        
+        @Override
+        public boolean keyPressed(int key) {
+            return key >= 0 && key < keys.length && keys[key];
+        }
+        
+        @Override
+        public boolean mousePressed() {
+            return mouse;
+        }
+        
+        @Override
+        public Position mousePosition() {
+            return position;
+        }
+    }
+}
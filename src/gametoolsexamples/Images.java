@@ -0,0 +1,36 @@
+package gametoolsexamples;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+//Helpers for keeping images in the same format as the screen
+//Images in the screen format can be kept in video memory, which makes them much faster to draw
+public class Images {
+    
+    //Creates an empty transparent image in the screen format
+    public static BufferedImage compatibleImage(int width, int height) {
+        GraphicsConfiguration config = configuration();
+        if (config == null) return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+    
+    //Copies the image into the screen format, images that are already in the right format are returned as is
+    public static BufferedImage toCompatible(BufferedImage image) {
+        GraphicsConfiguration config = configuration();
+        if (config != null && image.getColorModel().equals(config.getColorModel(Transparency.TRANSLUCENT))) return image;
+        BufferedImage copy = compatibleImage(image.getWidth(), image.getHeight());
+        Graphics2D graphics = copy.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return copy;
+    }
+    
+    //The screen settings, or null if there is no screen (for example on a build server)
+    static GraphicsConfiguration configuration() {
+        if (GraphicsEnvironment.isHeadless()) return null;
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+}
@@ -0,0 +1,197 @@
+package gametoolsexamples;
+
+import gametools.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+//An input recorder saves everything the player pressed, tick by tick, so the game can be replayed later with InputReplay
+//Together with the seed of the game's random numbers and the screen size this is enough to play the exact same game again
+//Only changes are saved, ticks where nothing changed take up no space at all
+//When the recorder has no file every method returns straight away, so it can be left in the game code
+public class InputRecorder {
+    static final int MAGIC = 0x47544952; //The letters GTIR, marks the file as an input recording
+    static final byte VERSION = 2;
+    static final int KEYS = 1, MOUSE_BUTTON = 2, MOUSE_MOVE = 4; //Flags for what changed in a tick
+    
+    FileChannel channel;
+    final ByteBuffer buffer;
+    final long seed;
+    long tick, lastWritten;
+    
+    //What has been written so far, everything is saved as a change from these
+    final BitSet keys;
+    boolean mouse;
+    int mouseX, mouseY;
+    
+    //Changes seen during the current tick
+    int[] changes;
+    int changeCount;
+    boolean mouseChanged, mouseMoved;
+    int nextX, nextY;
+    
+    //Starts recording to the file, a null file turns the recorder off
+    //The name is saved so the replay knows which game the recording is from
+    //The screen size is saved because the games place things using it, a replay on a different size would play a different game
+    public InputRecorder(String file, String name, long seed, int width, int height) {
+        this.seed = seed;
+        keys = new BitSet();
+        changes = new int[16];
+        tick = -1; //The first call to tick starts tick zero
+        lastWritten = -1;
+        if (file == null) {
+            buffer = null;
+            return;
+        }
+        buffer = ByteBuffer.allocateDirect(1 << 16);
+        try {
+            Path path = Paths.get(file);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+        buffer.putLong(seed);
+        buffer.putInt(width);
+        buffer.putInt(height);
+        //Games are usually closed instead of ending, so the file is finished when java shuts down
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+    }
+    
+    public boolean isEnabled() {
+        return channel != null;
+    }
+    
+    //The seed the game should give its random numbers
+    public long getSeed() {
+        return seed;
+    }
+    
+    //Call at the very start of each tick, before any input is read
+    public synchronized void tick() {
+        if (channel == null) return;
+        writeTick();
+        tick++;
+    }
+    
+    //Records the state of a key and returns it, so it can be wrapped around the real key check
+    public synchronized boolean key(int key, boolean pressed) {
+        if (channel == null || keys.get(key) == pressed) return pressed;
+        keys.set(key, pressed);
+        if (changeCount == changes.length) changes = Arrays.copyOf(changes, changeCount * 2);
+        changes[changeCount++] = key << 1 | (pressed? 1 : 0);
+        return pressed;
+    }
+    
+    public synchronized boolean mousePressed(boolean pressed) {
+        if (channel == null || mouse == pressed) return pressed;
+        mouse = pressed;
+        mouseChanged = !mouseChanged; //Pressing and letting go in the same tick cancels out
+        return pressed;
+    }
+    
+    public synchronized Position mousePosition(Position position) {
+        if (channel == null || position == null) return position;
+        //The mouse is always on a whole pixel, so only whole numbers are saved
+        int x = (int) position.getX(), y = (int) position.getY();
+        if (x != (mouseMoved? nextX : mouseX) || y != (mouseMoved? nextY : mouseY)) {
+            mouseMoved = true;
+            nextX = x;
+            nextY = y;
+        }
+        return position;
+    }
+    
+    //Writes what is left and closes the file, the recorder does nothing afterwards
+    public synchronized void close() {
+        if (channel == null) return;
+        try {
+            writeTick();
+            //The end is marked with a gap of zero, followed by the total amount of ticks so the replay knows its length
+            ensure(16);
+            writeVarint(0);
+            buffer.putLong(tick + 1);
+            flush();
+            channel.close();
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        finally {
+            channel = null;
+        }
+    }
+    
+    //Writes the changes of the tick that just finished, if there were any
+    void writeTick() {
+        if (tick < 0 || (changeCount == 0 && !mouseChanged && !mouseMoved)) return;
+        int flags = (changeCount > 0? KEYS : 0) | (mouseChanged? MOUSE_BUTTON : 0) | (mouseMoved? MOUSE_MOVE : 0);
+        ensure(16);
+        writeVarint(tick - lastWritten); //Ticks are saved as the gap since the last saved tick, which is usually one byte
+        buffer.put((byte) flags);
+        if (changeCount > 0) {
+            writeVarint(changeCount);
+            for (int i = 0; i < changeCount; i++) {
+                ensure(8);
+                writeVarint(changes[i]);
+            }
+        }
+        if (mouseMoved) {
+            ensure(16);
+            //Saved as the distance moved, small movements only take a byte or two
+            writeSigned(nextX - mouseX);
+            writeSigned(nextY - mouseY);
+            mouseX = nextX;
+            mouseY = nextY;
+        }
+        lastWritten = tick;
+        changeCount = 0;
+        mouseChanged = false;
+        mouseMoved = false;
+    }
+    
+    //Seven bits per byte, the top bit says if another byte follows
+    void writeVarint(long value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+    
+    //Moves the sign to the lowest bit so small negative numbers stay small
+    void writeSigned(int value) {
+        writeVarint((value << 1 ^ value >> 31) & 0xFFFFFFFFL);
+    }
+    
+    //Makes sure there is room in the buffer, writing it to the file when it is nearly full
+    void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            try {
+                flush();
+            }
+            catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+    
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+}
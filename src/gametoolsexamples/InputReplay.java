@@ -0,0 +1,169 @@
+package gametoolsexamples;
+
+import gametools.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+//An input replay plays back a file saved by InputRecorder as the input of a headless game
+//The file is read a piece at a time while the game runs, so long recordings do not need to fit in memory
+public class InputReplay implements Headless.Input, Closeable {
+    final FileChannel channel;
+    final ByteBuffer buffer;
+    final String name;
+    final long seed, length;
+    final int width, height;
+    long nextTick; //Tick of the next saved change, or -1 once the recording has no more changes
+    
+    final BitSet keys;
+    boolean mouse;
+    int mouseX, mouseY;
+    Position position;
+    
+    public InputReplay(String file) {
+        keys = new BitSet();
+        position = new Position(0, 0);
+        buffer = ByteBuffer.allocateDirect(1 << 16);
+        try {
+            Path path = Paths.get(file);
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            //The total amount of ticks is the last thing in the file
+            if (channel.size() < 8) throw new IOException("Not an input recording: " + file);
+            ByteBuffer end = ByteBuffer.allocate(8);
+            while (end.hasRemaining() && channel.read(end, channel.size() - 8 + end.position()) > 0);
+            end.flip();
+            length = end.getLong();
+            buffer.flip(); //Starts empty so the first read fills it
+            fill(16);
+            if (buffer.getInt() != InputRecorder.MAGIC) throw new IOException("Not an input recording: " + file);
+            if (buffer.get() != InputRecorder.VERSION) throw new IOException("Unsupported recording version: " + file);
+            byte[] bytes = new byte[buffer.getShort()];
+            fill(bytes.length + 16);
+            buffer.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+            seed = buffer.getLong();
+            width = buffer.getInt();
+            height = buffer.getInt();
+            nextTick = -1;
+            readGap();
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    //The name of the game that was recorded
+    public String getName() {
+        return name;
+    }
+    
+    //The screen size of the recorded game
+    public int getWidth() {
+        return width;
+    }
+    
+    public int getHeight() {
+        return height;
+    }
+    
+    @Override
+    public long seed() {
+        return seed;
+    }
+    
+    //The amount of ticks that were recorded
+    public long length() {
+        return length;
+    }
+    
+    @Override
+    public void next(long tick) {
+        if (tick != nextTick) return;
+        fill(16);
+        int flags = buffer.get();
+        if ((flags & InputRecorder.KEYS) != 0) {
+            int count = (int) readVarint();
+            for (int i = 0; i < count; i++) {
+                fill(8);
+                int change = (int) readVarint();
+                keys.set(change >>> 1, (change & 1) != 0);
+            }
+        }
+        if ((flags & InputRecorder.MOUSE_BUTTON) != 0) mouse = !mouse;
+        if ((flags & InputRecorder.MOUSE_MOVE) != 0) {
+            fill(16);
+            mouseX += readSigned();
+            mouseY += readSigned();
+            position = new Position(mouseX, mouseY); //Only made when the mouse moved
+        }
+        readGap();
+    }
+    
+    @Override
+    public boolean keyPressed(int key) {
+        return key >= 0 && keys.get(key);
+    }
+    
+    @Override
+    public boolean mousePressed() {
+        return mouse;
+    }
+    
+    @Override
+    public Position mousePosition() {
+        return position;
+    }
+    
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    //Reads how many ticks until the next change, a gap of zero is the end of the recording
+    void readGap() {
+        fill(16);
+        long gap = readVarint();
+        nextTick = gap == 0? -1 : nextTick + gap;
+    }
+    
+    long readVarint() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) return value;
+        }
+    }
+    
+    int readSigned() {
+        int value = (int) readVarint();
+        return value >>> 1 ^ -(value & 1);
+    }
+    
+    //Makes sure the buffer holds at least the amount of bytes, reading more of the file if needed
+    //Near the end of the file there may be fewer bytes left, which is fine since the last value is always short
+    void fill(int bytes) {
+        if (buffer.remaining() >= bytes) return;
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes && channel.read(buffer) > 0);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.flip();
+    }
+}
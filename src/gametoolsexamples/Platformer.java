@@ -7,6 +7,7 @@ import static gametools.Tools.*;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.util.Random;
@@ -16,13 +17,18 @@ public class Platformer extends GravityGame {
     //Giving values to variables won't work up here, do it in setup instead
     Mass player; //Mass class is a sprite that uses gravity
     BufferedImage box, heart; //Images should be loaded once for efficiency
-    Random random;
+    BoxCache boxes; //Remembers generated platform images so they are not generated again
+    TextureAtlas atlas; //All the images packed into one, which is faster to draw from
+    GlyphCache text; //Draws the score from letters drawn ahead of time, kept between restarts
+    InputRecorder recorder; //Saves the input to a file when running with -Dplatformer.record=<file>, replay it with Headless
+    Random random; //Seeded so a recording plays out the same way when replayed
     int score, time, distance, health, countdown, lastBonus;
     double speed; //The library uses doubles for everything, so this allows more accuracy
     
     //The main java method that java always runs first
     public static void main(String[] args) {
         initialize(Platformer.class); //Sets up the tool class to find the base of the project for loading images
+        Assets.preloadAtlas(Platformer.class, "img"); //Starts loading the images in the background while the window is made
         new Platformer(); //Need to include this for game to run
     }
     
@@ -32,13 +38,20 @@ public class Platformer extends GravityGame {
         setTitle("Example Platform Game");
         setBackground(Color.DARK_GRAY); //Background can be color or image
         setDefaultGravity(75); //Gravity is percent
-        create(); //Creates the window (no settings should be changed after this)
+        if (!Headless.isEnabled()) create(); //Creates the window (no settings should be changed after this)
     }
     
     //Method runs once after window is created, used for setup and initialization
     @Override
     protected void setup() {
         //Every project wide value should be set here so that the game can easily be restarted by running the setup method
+        //The recorder and random numbers are only made once so that a recording covers every restart
+        if (recorder == null) {
+            long seed = Headless.isEnabled()? Headless.input().seed() : System.nanoTime();
+            recorder = new InputRecorder(Headless.isEnabled()? null : System.getProperty("platformer.record"), "platformer", seed, getWidth(), getHeight());
+            random = new Random(seed);
+        }
+        
         score = 0;
         time = 0;
         lastBonus = 0;
@@ -47,11 +60,13 @@ public class Platformer extends GravityGame {
         health = 3;
         
         //Sets up images and sprites
-        heart = loadImage("img/heart.png"); //Images should be loaded here for efficiency
-        player = new Mass(loadImage("img/green.png"));
+        atlas = Assets.atlas(Platformer.class, "img"); //Packs every image in the folder once, images are then taken from the atlas
+        heart = atlas.get("img/heart.png"); //Images should be loaded here for efficiency
+        player = new Mass(atlas.get("img/green.png"));
         player.setSpeed(10);
-        box = generateBox(Color.BLUE, 160, 30); //Generates first platform image
-        random = new Random();
+        //The cache is kept between restarts since the same platform sizes get used every game
+        if (boxes == null) boxes = new BoxCache(256);
+        box = boxes.get(Color.BLUE, 160, 30); //Generates first platform image
         
         //Adds first nine platforms
         int max = getWidth() - box.getWidth();
@@ -61,18 +76,20 @@ public class Platformer extends GravityGame {
         //Increases font size
         Font large = new Font("Arial", Font.PLAIN, 16);
         painter().setFont(large);
+        if (text == null) text = new GlyphCache(large, painter().getColor()); //Same color the painter would draw the text with
         respawn(); //Spawn the player
     }
     
     //Method runs at a set FPS and contains main game code
     @Override
     protected void run() {
+        recorder.tick(); //Everything read from here on belongs to this tick
         //Update score and timer by one
         score++;
         time++;
         
         //Shrink the box width
-        if (time % 30 == 0 && box.getWidth() > 40) box = generateBox(Color.BLUE, box.getWidth() - 1, 30);
+        if (time % 30 == 0 && box.getWidth() > 40) box = boxes.get(Color.BLUE, box.getWidth() - 1, 30);
         //Increase the speed
         if (time % 30 == 10 && speed < 4.5) speed += 0.02;
         //Increase box distance
@@ -100,7 +117,7 @@ public class Platformer extends GravityGame {
             health--;
             //If player is dead then reset game and print score
             if (health < 0) {
-                messageDialog("You died with a score of " + score); //Display popup with score
+                if (!Headless.isEnabled()) messageDialog("You died with a score of " + score); //Display popup with score
                 platforms().clear(false);
                 setup(); //Resets all variables
             }
@@ -120,17 +137,17 @@ public class Platformer extends GravityGame {
         
         //Draws the health images
         for (int i = 0; i < health; i++) painter().drawImage(heart, getWidth() - ((i + 1) * heart.getWidth()) - 10, 10, null);
-        painter().drawString(score + "", 15, 20); //Draws the score
+        text.drawInt(painter(), score, 15, 20); //Draws the score
         
-        //Draws score bonus text if needed
-        if (countdown > 0) painter().drawString("15% Score Bonus! +" + lastBonus, 320, 100);
+        //Draws score bonus text if needed, the number is drawn right after where the text ends
+        if (countdown > 0) text.drawInt(painter(), lastBonus, text.drawString(painter(), "15% Score Bonus! +", 320, 100), 100);
         countdown--;
     }
     
     //Respawns the player in the middle of the screen on a red platform
     void respawn() {
         //Create a new red platform in the center
-        Sprite platform = new Sprite(generateBox(Color.RED, box.getWidth(), box.getHeight()));
+        Sprite platform = new Sprite(boxes.get(Color.RED, box.getWidth(), box.getHeight()));
         platform.centerOn(getCenter());
         
         //Remove overlapping platforms
@@ -142,4 +159,30 @@ public class Platformer extends GravityGame {
         player.translate(0, (-platform.getHeight() - player.getHeight()) / 2);
         player.stopJump();
     }
+    
+    //Headless mode replaces the keyboard, mouse and screen so the game logic can run without a window
+    @Override
+    protected boolean keyPressed(int key) {
+        return Headless.isEnabled()? Headless.input().keyPressed(key) : recorder.key(key, super.keyPressed(key));
+    }
+    
+    @Override
+    protected Graphics2D painter() {
+        return Headless.isEnabled()? Headless.painter() : super.painter();
+    }
+    
+    @Override
+    protected int getWidth() {
+        return Headless.isEnabled()? Headless.width() : super.getWidth();
+    }
+    
+    @Override
+    protected int getHeight() {
+        return Headless.isEnabled()? Headless.height() : super.getHeight();
+    }
+    
+    @Override
+    protected Position getCenter() {
+        return Headless.isEnabled()? Headless.center() : super.getCenter();
+    }
 }
@@ -0,0 +1,283 @@
+package gametoolsexamples;
+
+import gametools.*;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//A projectile group is a much lighter group for things that only fly in a straight line, like bullets
+//Projectiles are not sprites, every value is kept in arrays so there are no objects for each projectile
+//Projectiles that leave the screen or run out of lifetime are removed automatically
+public class ProjectileGroup {
+    static final int CELL = 32; //Size of the grid cells used to speed up collisions
+    
+    //Called for every projectile that gets removed by a collision, for example to spawn an explosion
+    public interface Hits {
+        void hit(double centerX, double centerY, int width, int height);
+    }
+    
+    final int width, height;
+    double[] x, y, vx, vy, rotation; //Position is the center of the projectile
+    int[] life, image;
+    int count;
+    
+    //Images are shared by index so each projectile only stores a number
+    BufferedImage[] images;
+    int[] imageWidth, imageHeight;
+    int imageCount, maxWidth, maxHeight;
+    
+    //Grid of projectile indices sorted by cell, rebuilt only when a collision check needs it
+    final int columns, rows;
+    final int[] cellStart;
+    int[] cellItems;
+    boolean gridChanged;
+    
+    boolean[] marked; //Projectiles hit by the current collision check
+    final AffineTransform transform;
+    RotationCache rotations; //Optional, draws pre-rotated images instead of rotating every projectile
+    TextureAtlas atlas; //Optional, images from the atlas are drawn straight from the atlas image
+    
+    //The width and height are the screen size, anything outside of it gets removed
+    public ProjectileGroup(int width, int height) {
+        this.width = width;
+        this.height = height;
+        x = new double[64];
+        y = new double[64];
+        vx = new double[64];
+        vy = new double[64];
+        rotation = new double[64];
+        life = new int[64];
+        image = new int[64];
+        marked = new boolean[64];
+        cellItems = new int[64];
+        images = new BufferedImage[4];
+        imageWidth = new int[4];
+        imageHeight = new int[4];
+        columns = width / CELL + 1;
+        rows = height / CELL + 1;
+        cellStart = new int[columns * rows + 1];
+        transform = new AffineTransform();
+    }
+    
+    //Registers an image and returns the index used to spawn projectiles with it
+    public int addImage(BufferedImage picture) {
+        if (imageCount == images.length) {
+            images = Arrays.copyOf(images, imageCount * 2);
+            imageWidth = Arrays.copyOf(imageWidth, imageCount * 2);
+            imageHeight = Arrays.copyOf(imageHeight, imageCount * 2);
+        }
+        images[imageCount] = picture;
+        imageWidth[imageCount] = picture.getWidth();
+        imageHeight[imageCount] = picture.getHeight();
+        maxWidth = Math.max(maxWidth, picture.getWidth());
+        maxHeight = Math.max(maxHeight, picture.getHeight());
+        return imageCount++;
+    }
+    
+    //Spawns a projectile on the center of the shooter, flying forward at its angle like a sprite with relational movement
+    public void spawn(int picture, Sprite shooter, double speed) {
+        Sprite probe = Facing.step(shooter.getAngle(), speed); //Works out the velocity the same way the sprite would move
+        spawn(picture, shooter.getX() + shooter.getWidth() / 2.0, shooter.getY() + shooter.getHeight() / 2.0,
+            probe.getX(), probe.getY(), Integer.MAX_VALUE);
+    }
+    
+    //Spawns a projectile at the center position that moves by the velocity every update until its lifetime runs out
+    public void spawn(int picture, double centerX, double centerY, double velocityX, double velocityY, int lifetime) {
+        if (count == x.length) grow();
+        x[count] = centerX;
+        y[count] = centerY;
+        vx[count] = velocityX;
+        vy[count] = velocityY;
+        rotation[count] = Math.atan2(velocityY, velocityX); //Images face to the right, the same way sprites move forward
+        life[count] = lifetime;
+        image[count] = picture;
+        count++;
+        gridChanged = true;
+    }
+    
+    //Moves every projectile forward and removes the ones that left the screen or expired
+    public void update() {
+        //Kept as simple array math so the loop can be vectorized
+        for (int i = 0; i < count; i++) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+            life[i]--;
+        }
+        int i = 0;
+        while (i < count) {
+            double halfWidth = imageWidth[image[i]] / 2.0, halfHeight = imageHeight[image[i]] / 2.0;
+            if (life[i] <= 0 || x[i] + halfWidth < 0 || x[i] - halfWidth > width
+                || y[i] + halfHeight < 0 || y[i] - halfHeight > height) remove(i); //The last projectile takes its place so the index is checked again
+            else i++;
+        }
+        gridChanged = true;
+    }
+    
+    //Projectiles are drawn with the cached rotations from now on, the angles are rounded to the cache's steps
+    public void useRotationCache(RotationCache cache) {
+        rotations = cache;
+    }
+    
+    //Images taken from the atlas are drawn from the single atlas image from now on, a rotation cache takes priority since it has its own images
+    public void useAtlas(TextureAtlas atlas) {
+        this.atlas = atlas;
+    }
+    
+    //Draws every projectile rotated in the direction it is flying
+    public void drawAll(Graphics2D painter) {
+        if (rotations != null) {
+            for (int i = 0; i < count; i++) rotations.draw(painter, images[image[i]], x[i], y[i], rotation[i]);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int picture = image[i];
+            transform.setToTranslation(x[i], y[i]);
+            transform.rotate(rotation[i]);
+            transform.translate(-imageWidth[picture] / 2.0, -imageHeight[picture] / 2.0);
+            if (atlas != null) atlas.draw(painter, images[picture], transform);
+            else painter.drawImage(images[picture], transform, null);
+        }
+    }
+    
+    //Removes every projectile touching the sprite and returns how many were removed
+    public int removeAllWithin(Sprite sprite, Hits hits) {
+        buildGrid();
+        int removed = markWithin(sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight(), false);
+        sweep(hits);
+        return removed;
+    }
+    
+    //Same as group.getAllWithin(projectiles), returns the sprites in the group hit by any projectile in the same order as the group
+    //Unlike getAllWithin the sprites returned belong to the other group, not to the projectiles
+    public List<Sprite> targetsHit(Group group) {
+        buildGrid();
+        List<Sprite> within = new ArrayList<>();
+        for (Sprite sprite : group.getAll()) {
+            if (markWithin(sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight(), true) > 0) within.add(sprite);
+        }
+        return within;
+    }
+    
+    //Removes every projectile in both groups that touches a projectile of the other group, hits are only reported for this group
+    public int removeAllWithin(ProjectileGroup other, Hits hits) {
+        other.buildGrid();
+        int removed = 0;
+        for (int i = 0; i < count; i++) {
+            int picture = image[i];
+            int hit = other.markWithin(x[i] - imageWidth[picture] / 2.0, y[i] - imageHeight[picture] / 2.0,
+                imageWidth[picture], imageHeight[picture], false);
+            if (hit > 0) {
+                marked[i] = true;
+                removed++;
+            }
+        }
+        other.sweep(null);
+        sweep(hits);
+        return removed;
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    public void clear() {
+        count = 0;
+        gridChanged = true;
+    }
+    
+    //Marks every projectile touching the rectangle, returns how many touch it (including ones that were already marked)
+    //If stopAtFirst is true nothing is marked and it only checks if at least one touches
+    int markWithin(double left, double top, double boxWidth, double boxHeight, boolean stopAtFirst) {
+        //Projectiles are sorted by their center, so the search area grows by the size of the largest image
+        int minColumn = clampColumn(left - maxWidth / 2.0), maxColumn = clampColumn(left + boxWidth + maxWidth / 2.0);
+        int minRow = clampRow(top - maxHeight / 2.0), maxRow = clampRow(top + boxHeight + maxHeight / 2.0);
+        int found = 0;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                int cell = row * columns + column;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = cellItems[k];
+                    double halfWidth = imageWidth[image[i]] / 2.0, halfHeight = imageHeight[image[i]] / 2.0;
+                    if (x[i] - halfWidth < left + boxWidth && left < x[i] + halfWidth
+                        && y[i] - halfHeight < top + boxHeight && top < y[i] + halfHeight) {
+                        if (stopAtFirst) return 1;
+                        marked[i] = true;
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+    
+    //Removes every marked projectile
+    void sweep(Hits hits) {
+        int i = 0;
+        while (i < count) {
+            if (marked[i]) {
+                marked[i] = false;
+                if (hits != null) hits.hit(x[i], y[i], imageWidth[image[i]], imageHeight[image[i]]);
+                remove(i);
+            }
+            else i++;
+        }
+    }
+    
+    //Sorts the projectile indices by grid cell using a counting sort, no objects are created
+    void buildGrid() {
+        if (!gridChanged) return;
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < count; i++) cellStart[cellOf(i) + 1]++;
+        for (int cell = 0; cell < columns * rows; cell++) cellStart[cell + 1] += cellStart[cell];
+        if (cellItems.length < count) cellItems = new int[x.length];
+        //Fills each cell from its end backward, which leaves cellStart pointing at the start of each cell again
+        for (int i = count - 1; i >= 0; i--) cellItems[--cellStart[cellOf(i) + 1]] = i;
+        //After the loop each cellStart[cell + 1] holds the start of the cell, so shift everything back by one
+        System.arraycopy(cellStart, 1, cellStart, 0, columns * rows);
+        cellStart[columns * rows] = count;
+        gridChanged = false;
+    }
+    
+    int cellOf(int i) {
+        return clampRow(y[i]) * columns + clampColumn(x[i]);
+    }
+    
+    int clampColumn(double value) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(value / CELL)));
+    }
+    
+    int clampRow(double value) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(value / CELL)));
+    }
+    
+    //Swap remove, the last projectile is moved into the removed spot so nothing needs to shift
+    void remove(int i) {
+        count--;
+        x[i] = x[count];
+        y[i] = y[count];
+        vx[i] = vx[count];
+        vy[i] = vy[count];
+        rotation[i] = rotation[count];
+        life[i] = life[count];
+        image[i] = image[count];
+        marked[i] = marked[count];
+        marked[count] = false;
+        gridChanged = true;
+    }
+    
+    void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        rotation = Arrays.copyOf(rotation, capacity);
+        life = Arrays.copyOf(life, capacity);
+        image = Arrays.copyOf(image, capacity);
+        marked = Arrays.copyOf(marked, capacity);
+    }
+}
@@ -0,0 +1,78 @@
+package gametoolsexamples;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//A rotation cache keeps copies of an image already rotated to a fixed number of angles
+//Drawing one of those copies is a plain image draw, which is much faster than rotating the image every frame
+//Images are rotated the first time each angle is needed, and images that have not been used recently are thrown away
+public class RotationCache {
+    final int steps; //How many angles a full turn is split into
+    final double stepSize;
+    final Map<BufferedImage, BufferedImage[]> rotations;
+    int hits, misses;
+    
+    public RotationCache(int steps, int maxImages) {
+        this.steps = steps;
+        stepSize = Math.PI * 2 / steps;
+        //Access order makes the least recently used image the first to be thrown away
+        rotations = new LinkedHashMap<BufferedImage, BufferedImage[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BufferedImage, BufferedImage[]> eldest) {
+                return size() > maxImages;
+            }
+        };
+    }
+    
+    //Returns the image rotated to the closest cached angle, the rotated image is square and centered on the original
+    public BufferedImage get(BufferedImage image, double radians) {
+        int step = (int) Math.round(radians / stepSize) % steps;
+        if (step < 0) step += steps;
+        BufferedImage[] angles = rotations.get(image);
+        if (angles == null) {
+            angles = new BufferedImage[steps];
+            rotations.put(image, angles);
+        }
+        if (angles[step] == null) {
+            misses++;
+            angles[step] = rotate(image, step * stepSize);
+        }
+        else hits++;
+        return angles[step];
+    }
+    
+    //Draws the image rotated around its center, centered on the position
+    public void draw(Graphics2D painter, BufferedImage image, double centerX, double centerY, double radians) {
+        BufferedImage rotated = get(image, radians);
+        painter.drawImage(rotated, (int) Math.round(centerX - rotated.getWidth() / 2.0), (int) Math.round(centerY - rotated.getHeight() / 2.0), null);
+    }
+    
+    public int getHits() {
+        return hits;
+    }
+    
+    public int getMisses() {
+        return misses;
+    }
+    
+    //Removes every rotated image
+    public void clear() {
+        rotations.clear();
+    }
+    
+    static BufferedImage rotate(BufferedImage image, double radians) {
+        //The image is placed in a square as wide as its diagonal so no corner gets cut off at any angle
+        int size = (int) Math.ceil(Math.hypot(image.getWidth(), image.getHeight()));
+        BufferedImage rotated = Images.compatibleImage(size, size);
+        Graphics2D graphics = rotated.createGraphics();
+        //Rotating once means the best quality can be used for free
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        graphics.rotate(radians, size / 2.0, size / 2.0);
+        graphics.drawImage(image, (size - image.getWidth()) / 2, (size - image.getHeight()) / 2, null);
+        graphics.dispose();
+        return rotated;
+    }
+}
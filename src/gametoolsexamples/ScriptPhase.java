@@ -0,0 +1,138 @@
+package gametoolsexamples;
+
+import gametools.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+//A script phase updates the scripts of a whole group at the same time on every processor core
+//Scripts can only change their own sprite, anything else (like adding to another group) is recorded as a command
+//The commands are run afterwards in the same order as the group, so the result is the same as updating one by one
+public class ScriptPhase {
+    static final int SLICE = 64; //Amount of scripts each thread updates at a time
+    
+    //The part of a script that runs in parallel, it gets a command buffer for everything outside its own sprite
+    public interface Task {
+        void update(Commands commands);
+    }
+    
+    //Changes that have to wait until every script finished updating
+    public static class Commands {
+        final List<Runnable> commands = new ArrayList<>();
+        
+        public void add(Runnable command) {
+            commands.add(command);
+        }
+        
+        void append(Commands other) {
+            commands.addAll(other.commands);
+        }
+        
+        //Runs every command and empties the buffer so it can be used again
+        void runAll() {
+            for (Runnable command : commands) command.run();
+            commands.clear();
+        }
+    }
+    
+    final Map<Sprite, Entry> tasks;
+    final ForkJoinPool pool;
+    final int threshold; //Groups smaller than this are updated on the calling thread since splitting them costs more than it saves
+    final Commands commands; //Used every update for groups under the threshold
+    Entry[] entries; //Kept between updates and only grown, so updating does not make a new array every frame
+    int stamp;
+    
+    public ScriptPhase() {
+        this(ForkJoinPool.commonPool(), 256);
+    }
+    
+    public ScriptPhase(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+        tasks = new IdentityHashMap<>();
+        commands = new Commands();
+        entries = new Entry[16];
+    }
+    
+    //Gives the sprite a task that is updated every time the phase runs on a group containing it
+    public void attach(Sprite sprite, Task task) {
+        tasks.put(sprite, new Entry(task));
+    }
+    
+    //Updates the task of every sprite in the group, then runs all recorded commands in group order
+    public void update(Group group) {
+        stamp++;
+        List<Sprite> sprites = group.getAll();
+        int size = sprites.size();
+        if (entries.length < size) entries = new Entry[Math.max(size, entries.length * 2)];
+        for (int i = 0; i < size; i++) {
+            entries[i] = tasks.get(sprites.get(i));
+            if (entries[i] != null) entries[i].stamp = stamp;
+        }
+        if (size < threshold) {
+            updateAll(entries, 0, size, commands);
+            commands.runAll(); //The sync point, everything is back on one thread from here on
+        }
+        else pool.invoke(new Slice(entries, 0, size)).runAll(); //Big groups are split between threads, each piece gets its own buffer
+        Arrays.fill(entries, 0, size, null); //Tasks of removed sprites should not be kept alive by the array
+        //Tasks of sprites that have left the group are forgotten
+        if (tasks.size() > size) tasks.values().removeIf((entry) -> entry.stamp != stamp);
+    }
+    
+    //Amount of sprites that have a task
+    public int size() {
+        return tasks.size();
+    }
+    
+    public void clear() {
+        tasks.clear();
+    }
+    
+    static Commands updateAll(Entry[] entries, int start, int end, Commands commands) {
+        for (int i = start; i < end; i++) {
+            if (entries[i] != null) entries[i].task.update(commands);
+        }
+        return commands;
+    }
+    
+    static class Entry {
+        final Task task;
+        int stamp;
+        
+        Entry(Task task) {
+            this.task = task;
+        }
+    }
+    
+    //Splits the group in half until the pieces are small enough, each piece records into its own command buffer
+    static class Slice extends RecursiveTask<Commands> {
+        private static final long serialVersionUID = 1L;
+        
+        final Entry[] entries;
+        final int start, end;
+        
+        Slice(Entry[] entries, int start, int end) {
+            this.entries = entries;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected Commands compute() {
+            if (end - start <= SLICE) return updateAll(entries, start, end, new Commands());
+            int middle = (start + end) >>> 1;
+            Slice left = new Slice(entries, start, middle);
+            left.fork();
+            Commands right = new Slice(entries, middle, end).compute();
+            Commands commands = left.join();
+            //Left half first so the commands stay in group order no matter which thread finished first
+            commands.append(right);
+            return commands;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import gametools.*;
 import static gametools.Tools.*;
 
 import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 
@@ -26,7 +27,7 @@ public class Simple extends Game {
     protected void window() {
         setTitle("Simple Example Game"); //Sets the title displayed at the top of the game window
         setBackground(Color.BLUE); //Background can be color or image
-        create(); //Creates the window and runs the setup (no settings should be changed after this)
+        if (!Headless.isEnabled()) create(); //Creates the window and runs the setup (no settings should be changed after this)
     }
     
     //Method runs once after window is created, used for setup and initialization
@@ -36,7 +37,7 @@ public class Simple extends Game {
         image = loadImage("img/heart.png"); //Images should be loaded here for efficiency
         dot = loadImage("img/green.png"); //Folder names are seperated by slashes
         player = new Sprite(loadImage("img/ship.png")); //Sets the player to be a sprite represented by the ship image
-        player.lockMovementArea(getArea()); //Doesn't allow the player to move outside the screen
+        if (!Headless.isEnabled()) player.lockMovementArea(getArea()); //Doesn't allow the player to move outside the screen
         player.centerOn(getCenter()); //Centers the player on the middle of the screen
         player.setRelationalMovement(true); //Relational movement mean that the player directions are now relative to the player's angle
         dots = new Group(); //Initializes the dot group
@@ -49,6 +50,7 @@ public class Simple extends Game {
         if (keyPressed(KeyEvent.VK_W)) player.move(Sprite.Direction.EAST); //Moves the player at the player's set speed forwar (relatively)
         if (keyPressed(KeyEvent.VK_D)) player.turn(Sprite.Rotation.CLOCKWISE); //Turns the player at the player's rotation speed
         if (keyPressed(KeyEvent.VK_A)) player.turn(Sprite.Rotation.COUNTER_CLOCKWISE);
+        if (Headless.isEnabled()) Headless.keepOnScreen(player); //Headless games have no screen area to lock the player to
         
         painter().setColor(Color.WHITE); //Painter color should be chosen before drawing
         painter().drawString("Hello World!", 200, 200); //The painter can be used for drawing simple shapes and text
@@ -64,5 +66,20 @@ public class Simple extends Game {
         dots.drawAll(); //Updates and draws all the sprites in the group
         player.draw(); //The draw method updates and displays the player
     }
-
+    
+    //Headless mode replaces the keyboard, mouse and screen so the game logic can run without a window
+    @Override
+    protected boolean keyPressed(int key) {
+        return Headless.isEnabled()? Headless.input().keyPressed(key) : super.keyPressed(key);
+    }
+    
+    @Override
+    protected Graphics2D painter() {
+        return Headless.isEnabled()? Headless.painter() : super.painter();
+    }
+    
+    @Override
+    protected Position getCenter() {
+        return Headless.isEnabled()? Headless.center() : super.getCenter();
+    }
 }
@@ -0,0 +1,87 @@
+package gametoolsexamples;
+
+import gametools.*;
+import static gametools.Tools.*;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+
+//The simple example running on a fixed step loop instead of a game
+//The game logic runs on its own thread at a steady 60 ticks per second, and the ship is drawn smoothly in between ticks
+//The loop only draws images, so anything the simple example paints is drawn onto an image once instead
+//Since most of the scene stands still, the loop only redraws the parts of the screen that changed
+public class SmoothSimple implements FixedStepLoop.Simulation {
+    static final int WIDTH = 800, HEIGHT = 800;
+    
+    BufferedImage image, dot, ship, hello; //Images should be loaded once for efficiency
+    Sprite player;
+    Group dots;
+    int timer, helloTop;
+    
+    //The main java method that java always runs first
+    public static void main(String[] args) {
+        initialize(SmoothSimple.class); //Sets up the tool class to find the base of the project for loading images
+        FixedStepLoop loop = new FixedStepLoop("Simple Example Game", WIDTH, HEIGHT, Color.BLUE, 60, new SmoothSimple());
+        //Almost nothing on the screen moves, so only the parts around the ship and changed dots are drawn again
+        //Running with -Dsimple.dirty=false draws the whole screen every frame instead, to compare
+        loop.setDirtyRendering(!"false".equals(System.getProperty("simple.dirty")));
+        loop.start();
+    }
+    
+    //Same as the setup of the simple example, runs once before the loop starts
+    public SmoothSimple() {
+        timer = 0;
+        image = loadImage("img/heart.png");
+        dot = loadImage("img/green.png");
+        ship = loadImage("img/ship.png");
+        player = new Sprite(ship);
+        player.centerOn(new Position(WIDTH / 2.0, HEIGHT / 2.0));
+        player.setRelationalMovement(true);
+        dots = new Group();
+        
+        //Draws the text the same way painter().drawString would, with the painter's default font
+        Font font = new Font(Font.DIALOG, Font.PLAIN, 12);
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D measure = scratch.createGraphics();
+        FontMetrics metrics = measure.getFontMetrics(font);
+        measure.dispose();
+        hello = Images.compatibleImage(metrics.stringWidth("Hello World!"), metrics.getHeight());
+        Graphics2D graphics = hello.createGraphics();
+        graphics.setFont(font);
+        graphics.setColor(Color.WHITE);
+        graphics.drawString("Hello World!", 0, metrics.getAscent());
+        graphics.dispose();
+        helloTop = 200 - metrics.getAscent(); //drawString places the baseline at 200, the image is placed by its top
+    }
+    
+    //Same as the run method of the simple example without the drawing, called by the logic thread every tick
+    @Override
+    public void update(Headless.Input input) {
+        if (input.keyPressed(KeyEvent.VK_W)) player.move(Sprite.Direction.EAST);
+        if (input.keyPressed(KeyEvent.VK_D)) player.turn(Sprite.Rotation.CLOCKWISE);
+        if (input.keyPressed(KeyEvent.VK_A)) player.turn(Sprite.Rotation.COUNTER_CLOCKWISE);
+        //There is no game window to get the screen area from, so the player is kept on the screen here instead of with lockMovementArea
+        player.setPosition(Math.max(0, Math.min(WIDTH - player.getWidth(), player.getX())),
+            Math.max(0, Math.min(HEIGHT - player.getHeight(), player.getY())));
+        
+        timer--;
+        if (timer < 0) {
+            dots.add(new Sprite(randomPosition(764, 764), dot));
+            timer = 60;
+        }
+        dots.remove(dots.getAllWithin(player));
+    }
+    
+    //Everything the simple example draws, in the same order every tick
+    @Override
+    public void snapshot(FixedStepLoop.Snapshot snapshot) {
+        snapshot.add(hello, 200, helloTop);
+        snapshot.add(image, 200, 600);
+        for (Sprite sprite : dots.getAll()) snapshot.add(dot, sprite.getX(), sprite.getY());
+        snapshot.add(ship, player); //Blended between its last two positions, the dots never move so they do not need to be
+    }
+}
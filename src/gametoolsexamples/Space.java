@@ -6,6 +6,7 @@ import static gametools.Tools.*;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.util.List;
@@ -15,15 +16,28 @@ import java.util.Random;
 public class Space extends Game {
     //Giving values to variables won't work up here, do it in setup instead
     Sprite player; //Sprites are the characters and objects in your game that move, animate and have collision
-    Group stars, bullets, plasma, enemies, explosions; //A group can be used for bulk commands to multiple sprites
-    Animation explosionSmall, explosionLarge; //Animations are drawn on sprites and graphics
-    BufferedImage missile, plasmaBolt, alien; //Images should be loaded once for efficiency
-    Random random;
+    Group enemies; //A group can be used for bulk commands to multiple sprites
+    ProjectileGroup bullets, plasma; //Projectile groups are much faster than groups for things that only fly straight
+    RotationCache rotations; //Kept between restarts so the rotated images do not need to be made again
+    ProjectileGroup.Hits explodeHit; //Spawns an explosion for every projectile destroyed in a collision
+    StaticLayer stars; //A static layer draws images that never move as one single image
+    ScriptPhase enemyScripts; //Updates every enemy at the same time on all processor cores
+    FrameSheet explosionSmall, explosionLarge; //Frame sheets are animations that can be shared by many effects at once
+    EffectLayer explosions; //Effect layers play animations that do not need to be sprites
+    BufferedImage alien; //Images should be loaded once for efficiency
+    int missile, plasmaBolt; //Projectile images are stored in the projectile group and used by their index
+    TextureAtlas atlas; //All the images packed into one, which is faster to draw from
+    GlyphCache text; //Draws the score from letters drawn ahead of time, kept between restarts
+    FrameProfiler profiler; //Measures each part of the frame, enabled by running with -Dspace.profile=true
+    int inputPhase, spawnPhase, collisionPhase, scriptPhase, starPhase, projectilePhase, enemyPhase, playerPhase, explosionPhase, hudPhase;
+    InputRecorder recorder; //Saves the input to a file when running with -Dspace.record=<file>, replay it with Headless
+    Random random; //Seeded so a recording plays out the same way when replayed
     int score, health, bulletTimer, enemyTimer;
     
     //The main java method that java always runs first
     public static void main(String[] args) {
         initialize(Space.class); //Sets up the tool class to find the base of the project for loading images
+        Assets.preloadAtlas(Space.class, "img"); //Starts loading the images in the background while the window is made
         new Space(); //Need to include this for game to run
     }
     
@@ -32,56 +46,90 @@ public class Space extends Game {
     protected void window() {
         setTitle("Example Space Game");
         setBackground(new Color(0x0b1037)); //Background can be color or image
-        create(); //Creates the window and runs the setup (no settings should be changed after this)
+        if (!Headless.isEnabled()) create(); //Creates the window and runs the setup (no settings should be changed after this)
     }
     
     //Method runs once after window is created, used for setup and initialization
     @Override
     protected void setup() {
         //Every project wide variable should be set here so that the game can easily be restarted by running the setup method
-        player = new Sprite(loadImage("img/ship.png"));
-        player.lockMovementArea(getArea()); //Doesn't allow the player to move outside the screen
+        //The recorder and random numbers are only made once so that a recording covers every restart
+        if (recorder == null) {
+            long seed = Headless.isEnabled()? Headless.input().seed() : System.nanoTime();
+            recorder = new InputRecorder(Headless.isEnabled()? null : System.getProperty("space.record"), "space", seed, getWidth(), getHeight());
+            random = new Random(seed);
+        }
+        
+        atlas = Assets.atlas(Space.class, "img"); //Packs every image in the folder once, images are then taken from the atlas
+        player = new Sprite(atlas.get("img/ship.png"));
+        if (!Headless.isEnabled()) player.lockMovementArea(getArea()); //Doesn't allow the player to move outside the screen
         player.centerOn(getCenter());
         
         //Groups are similar to array lists but with additional properties
         enemies = new Group();
-        explosions = new Group();
-        stars = new Group();
+        enemyScripts = new ScriptPhase();
+        explosions = new EffectLayer(64);
+        explosions.useAtlas(atlas); //Explosion frames come from the atlas, so they are drawn from the one atlas image
         
-        //Generates random star background
-        BufferedImage star = loadImage("img/star.png");
-        for (int i = 0; i < 200; i++) stars.add(new Sprite(randomPosition(getArea()), star));
+        //Generates random star background, the stars never move so they only need to be drawn onto the layer once
+        //The layer is kept between restarts so its screen sized image is only made once
+        if (stars == null) stars = new StaticLayer(getWidth(), getHeight());
+        else stars.clear();
+        BufferedImage star = atlas.get("img/star.png");
+        stars.useAtlas(atlas);
+        for (int i = 0; i < 200; i++) stars.add(star, random.nextInt(getWidth()), random.nextInt(getHeight()));
         
-        //Groups can automatically remove objects when they go off the screen
-        bullets = new Group();
-        bullets.removeWhenOffScreen();
-        plasma = new Group();
-        plasma.removeWhenOffScreen();
+        //Projectile groups automatically remove projectiles when they go off the screen
+        bullets = new ProjectileGroup(getWidth(), getHeight());
+        plasma = new ProjectileGroup(getWidth(), getHeight());
+        //Projectiles are drawn from images rotated ahead of time to one of 64 angles, shared by both groups
+        if (rotations == null) rotations = new RotationCache(64, 16);
+        bullets.useRotationCache(rotations);
+        plasma.useRotationCache(rotations);
         
-        //Generates an animation from a spritesheet using the passed in dimensions, sets the animation speed to two, and sets repeats to zero
-        explosionSmall = new Animation(loadSpriteSheet("img/explosion-small.png", 30, 30), 2, 0);
-        explosionLarge = new Animation(loadSpriteSheet("img/explosion-large.png", 60, 60), 2, 0);
+        //Generates a frame sheet from a spritesheet using the passed in dimensions, sets the animation speed to two, and sets repeats to zero
+        explosionSmall = new FrameSheet(atlas.getSheet("img/explosion-small.png", 30, 30), 2, 0);
+        explosionLarge = new FrameSheet(atlas.getSheet("img/explosion-large.png", 60, 60), 2, 0);
         
         //Images should be loaded here for efficiency
-        missile = loadImage("img/missile.png");
-        plasmaBolt = loadImage("img/plasma.png");
-        alien = loadImage("img/alien.png");
+        missile = bullets.addImage(atlas.get("img/missile.png"));
+        plasmaBolt = plasma.addImage(atlas.get("img/plasma.png"));
+        alien = atlas.get("img/alien.png");
+        
+        explodeHit = (x, y, width, height) -> explosions.play(width > 50? explosionLarge : explosionSmall, x, y);
         
         //Game timers and score should be set and reset here
-        random = new Random();
         score = 0;
         health = 100;
         bulletTimer = 0;
         enemyTimer = 0;
         
+        //The profiler only needs to be made once, so it keeps measuring through restarts
+        if (profiler == null) {
+            profiler = new FrameProfiler(Boolean.getBoolean("space.profile"), 60);
+            inputPhase = profiler.phase("input");
+            spawnPhase = profiler.phase("spawning");
+            collisionPhase = profiler.phase("collision");
+            scriptPhase = profiler.phase("scripts");
+            starPhase = profiler.phase("stars");
+            projectilePhase = profiler.phase("projectiles");
+            enemyPhase = profiler.phase("enemies");
+            playerPhase = profiler.phase("player");
+            explosionPhase = profiler.phase("explosions");
+            hudPhase = profiler.phase("hud");
+        }
+        
         //Increases font size
         Font large = new Font("Arial", Font.PLAIN, 16);
         painter().setFont(large);
+        if (text == null) text = new GlyphCache(large, Color.WHITE);
     }
     
     //Method runs at a set FPS and contains main game code
     @Override
     protected void run() {
+        recorder.tick(); //Everything read from here on belongs to this tick
+        profiler.startFrame();
         player.face(mousePosition()); //Player always shoots toward mouse location
         int hor = 0, ver = 0; //Horizontal and vertical variables are lines on a compass
         //Key input can be handled by key pressed method
@@ -91,25 +139,14 @@ public class Space extends Game {
         if (keyPressed(KeyEvent.VK_D)) hor++;
         //Horizontal and vertical variables can be combined to point where on the compass the player needs to go
         player.move(hor, ver);
+        if (Headless.isEnabled()) Headless.keepOnScreen(player); //Headless games have no screen area to lock the player to
+        profiler.mark(inputPhase);
         
         bulletTimer--;
         if ((keyPressed(KeyEvent.VK_SPACE) || mousePressed()) && bulletTimer < 0) {
-            Sprite bullet = new Sprite(missile);
-            //Bullet starts underneath center of player and at the same angle
-            bullet.centerOn(player);
-            bullet.setAngle(player.getAngle());
-            bullet.setSpeed(10);
-            bullet.setRelationalMovement(true); //Relational movement means the bullet's compass is in relation to its angle
-            //The custom script acts on the bullet every frame
-            bullet.script(new Script() {
-                @Override
-                public void update() {
-                    //Bullet simply moves forward (in relation to its angle) every frame
-                    bullet.move(Sprite.Direction.EAST);
-                }
-            });
+            //Bullet starts underneath center of player and flies forward at the same angle and a speed of ten
+            bullets.spawn(missile, player, 10);
             //After the bullet gets added to the group the cooldown restarts
-            bullets.add(bullet);
             bulletTimer = 15;
         }
         
@@ -138,18 +175,21 @@ public class Space extends Game {
             }
             enemy.face(player);
             enemy.setRelationalMovement(true); //Enemy also moves relationally for simplicity
-            enemy.script(new Script() {
+            //Enemy scripts run in parallel, so anything that changes more than the enemy itself goes through the commands
+            enemyScripts.attach(enemy, new ScriptPhase.Task() {
                 //Variables can be stored within script object
                 int moveTimer, shootTimer;
                 boolean move;
+                Random dice = new Random(random.nextLong()); //Each enemy gets its own random so the game plays the same on any amount of cores
+                Runnable shoot = () -> plasma.spawn(plasmaBolt, enemy, 10); //Made once per enemy instead of once per shot
                 
                 @Override
-                public void update() {
+                public void update(ScriptPhase.Commands commands) {
                     moveTimer--;
                     if (moveTimer < 0) {
                         move = !move; //Enemy flips between moving and shooting
                         //Timer is longer for shooting than moving
-                        moveTimer = move? random.nextInt(60) + 20 : random.nextInt(100) + 100;
+                        moveTimer = move? dice.nextInt(60) + 20 : dice.nextInt(100) + 100;
                         shootTimer = 0;
                     }
                     if (move) enemy.move(Sprite.Direction.EAST); //If currently in movement mode, sprite simply moves forward
@@ -157,19 +197,8 @@ public class Space extends Game {
                         enemy.turnTo(player); //Gradually turn to face player
                         shootTimer--;
                         if (shootTimer < 0) {
-                            //Adds a bullet pretty much the same way as the player, except a different image
-                            Sprite bullet = new Sprite(plasmaBolt);
-                            bullet.centerOn(enemy);
-                            bullet.setAngle(enemy.getAngle());
-                            bullet.setSpeed(10);
-                            bullet.setRelationalMovement(true);
-                            bullet.script(new Script() {
-                                @Override
-                                public void update() {
-                                    bullet.move(Sprite.Direction.EAST);
-                                }
-                            });
-                            plasma.add(bullet);
+                            //Adds a bullet pretty much the same way as the player, once every enemy has finished updating
+                            commands.add(shoot);
                             shootTimer = 30;
                         }
                     }
@@ -181,67 +210,56 @@ public class Space extends Game {
             if (difficulty > 0) enemyTimer = random.nextInt(difficulty) + 50;
             else enemyTimer = 50;
         }
-        
-        Group newExplosions = new Group(); //The temporary group to collect all objects that need to explode
+        profiler.mark(spawnPhase);
         
         //Take damage from enemy bullets
-        List<Sprite> bulletDamage = plasma.getAllWithin(player); //Collects all enemy bullets that collide with the player
-        health -= bulletDamage.size() * 5; //Subracts five health for each bullet
-        plasma.remove(bulletDamage); //Removes the bullets from the bullet group
-        newExplosions.add(bulletDamage); //Moves the bullets to the explosion group
+        int bulletDamage = plasma.removeAllWithin(player, explodeHit); //Removes all enemy bullets that collide with the player and explodes them
+        health -= bulletDamage * 5; //Subracts five health for each bullet
         
         //Take damage from enemy ships
         List<Sprite> shipDamage = enemies.getAllWithin(player); //Collects all enemy ships that collide with the player
         health -= shipDamage.size() * 10; //Subracts ten health for each bullet
         enemies.remove(shipDamage); //Removes the ships from the enemy group
-        newExplosions.add(shipDamage); //Moves the ships to the explosion group
+        explode(shipDamage);
         
         //Destroy enemies
-        List<Sprite> kills = enemies.getAllWithin(bullets); //Collects all enemy ships that collide with the player bullets
+        List<Sprite> kills = bullets.targetsHit(enemies); //Collects all enemy ships that collide with the player bullets
         score += kills.size() * 15; //Adds fifteen points for each kill
         enemies.remove(kills); //Removes the ships from the enemy group
-        newExplosions.add(kills); //Moves the ships to the explosion group
+        explode(kills);
         
         //Bullet collisions
-        List<Sprite> collisions = bullets.getAllWithin(plasma); //Collects all player bullets that collide with enemy bullets
-        bullets.remove(collisions); //Removes the player bullets from the bullet group
-        plasma.remove(plasma.getAllWithin(collisions)); //Removes the enemy bullets from the bullet group
-        newExplosions.add(collisions); //Moves the bullets to the explosion group
-        //Converts all new objects added to the explosion group to the properly sized explosion
-        
-        for (Sprite explosion : newExplosions.getAll()) {
-            Position center = explosion.getCenter(); //Saves the current center of the object
-            //Changes the object animation to the properly sized explosion
-            if (explosion.getWidth() > 50) explosion.setAnimation(new Animation(explosionLarge));
-            else explosion.setAnimation(new Animation(explosionSmall));
-            explosion.centerOn(center); //Recenters explosion
-            explosion.script(new Script() {
-                @Override
-                public void update() {
-                    //As soon as explosion animation completes, it safely removes itself
-                    if (explosion.getAnimation().isComplete()) explosion.remove(true);
-                }
-            });
-        }
-        explosions.add(newExplosions); //Moves all temporary explosions to the real explosion group
+        bullets.removeAllWithin(plasma, explodeHit); //Removes the player and enemy bullets that collide, and explodes the player bullets
+        
+        profiler.mark(collisionPhase);
         
         //Shows popup with score and restarts game
         if (health <= 0) {
-            messageDialog("You died with a score of " + score);
+            if (!Headless.isEnabled()) messageDialog("You died with a score of " + score);
             setup(); //Since all project wide variables were set here running the setup resets the game
         }
         
+        //Scripts and projectiles are updated just before drawing, like the scripts of groups are
+        enemyScripts.update(enemies);
+        bullets.update();
+        plasma.update();
+        profiler.mark(scriptPhase);
+        
         //Draws all the groups and the player
-        stars.drawAll();
-        bullets.drawAll();
-        plasma.drawAll();
+        stars.draw(painter());
+        profiler.mark(starPhase);
+        bullets.drawAll(painter());
+        plasma.drawAll(painter());
+        profiler.mark(projectilePhase);
         enemies.drawAll();
+        profiler.mark(enemyPhase);
         player.draw();
-        explosions.drawAll();
+        profiler.mark(playerPhase);
+        explosions.drawAll(painter()); //Finished explosions remove themselves
+        profiler.mark(explosionPhase);
         
         //Draws the score
-        painter().setColor(Color.WHITE);
-        painter().drawString(score + "", 15, 25); //The painter object can be used for drawing basic shapes and colors
+        text.drawInt(painter(), score, 15, 25); //Same as painter().drawString(score + "", 15, 25) without making a new string every frame
         
         //Draws the health bar
         painter().setColor(Color.RED);
@@ -251,5 +269,54 @@ public class Space extends Game {
         painter().setColor(Color.BLACK);
         painter().drawRect(getWidth() - 165, 15, 150, 15);
         painter().drawRect(getWidth() - 165, 15, (int) (health * 1.5), 15);
+        profiler.mark(hudPhase);
+        
+        //Shows the profiler measurements while F3 is held
+        if (keyPressed(KeyEvent.VK_F3)) profiler.drawOverlay(painter(), 15, 40);
+    }
+    
+    //Spawns the properly sized explosion on top of every sprite in the list
+    void explode(List<Sprite> sprites) {
+        for (Sprite sprite : sprites) {
+            //Larger objects get larger explosions, centered on the destroyed object
+            FrameSheet explosion = sprite.getWidth() > 50? explosionLarge : explosionSmall;
+            explosions.play(explosion, sprite.getX() + sprite.getWidth() / 2.0, sprite.getY() + sprite.getHeight() / 2.0);
+        }
+    }
+    
+    //Headless mode replaces the keyboard, mouse and screen so the game logic can run without a window
+    @Override
+    protected boolean keyPressed(int key) {
+        return Headless.isEnabled()? Headless.input().keyPressed(key) : recorder.key(key, super.keyPressed(key));
+    }
+    
+    @Override
+    protected boolean mousePressed() {
+        return Headless.isEnabled()? Headless.input().mousePressed() : recorder.mousePressed(super.mousePressed());
+    }
+    
+    @Override
+    protected Position mousePosition() {
+        return Headless.isEnabled()? Headless.input().mousePosition() : recorder.mousePosition(super.mousePosition());
+    }
+    
+    @Override
+    protected Graphics2D painter() {
+        return Headless.isEnabled()? Headless.painter() : super.painter();
+    }
+    
+    @Override
+    protected int getWidth() {
+        return Headless.isEnabled()? Headless.width() : super.getWidth();
+    }
+    
+    @Override
+    protected int getHeight() {
+        return Headless.isEnabled()? Headless.height() : super.getHeight();
+    }
+    
+    @Override
+    protected Position getCenter() {
+        return Headless.isEnabled()? Headless.center() : super.getCenter();
     }
 }
@@ -0,0 +1,84 @@
+package gametoolsexamples;
+
+import gametools.*;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+//A static layer is for images that never move, like a background
+//Everything is drawn once onto a single image that gets redrawn only when the layer changes
+public class StaticLayer {
+    final int width, height;
+    final List<Entry> entries;
+    BufferedImage layer;
+    boolean changed;
+    TextureAtlas atlas; //Optional, images from the atlas are drawn onto the layer straight from the atlas image
+    
+    public StaticLayer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        entries = new ArrayList<>();
+        changed = true;
+    }
+    
+    //Adds an image to the layer at the given position
+    public void add(BufferedImage image, double x, double y) {
+        entries.add(new Entry(image, (int) x, (int) y));
+        changed = true;
+    }
+    
+    public void add(BufferedImage image, Position position) {
+        add(image, position.getX(), position.getY());
+    }
+    
+    //Images taken from the atlas are drawn from the single atlas image when the layer is rendered
+    public void useAtlas(TextureAtlas atlas) {
+        this.atlas = atlas;
+        changed = true;
+    }
+    
+    //Removes every image from the layer
+    public void clear() {
+        entries.clear();
+        changed = true;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    //Draws the whole layer with a single image draw, only renders it again if something was added or removed
+    public void draw(Graphics2D painter) {
+        if (changed) render();
+        painter.drawImage(layer, 0, 0, null);
+    }
+    
+    void render() {
+        if (layer == null) layer = Images.compatibleImage(width, height);
+        Graphics2D graphics = layer.createGraphics();
+        //Clears the old layer to fully transparent so the game background still shows through
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setComposite(AlphaComposite.SrcOver);
+        for (Entry entry : entries) {
+            if (atlas != null) atlas.draw(graphics, entry.image, entry.x, entry.y);
+            else graphics.drawImage(entry.image, entry.x, entry.y, null);
+        }
+        graphics.dispose();
+        changed = false;
+    }
+    
+    static class Entry {
+        final BufferedImage image;
+        final int x, y;
+        
+        Entry(BufferedImage image, int x, int y) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
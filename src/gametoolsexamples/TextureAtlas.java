@@ -0,0 +1,183 @@
+package gametoolsexamples;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+//A texture atlas packs many small images into one large image in the screen format
+//The images from get are sub images for code that needs its own image, like sprites, but java treats each one as a separate image
+//Only drawing through the draw methods reads from the single atlas image, which java then keeps as one image in video memory
+public class TextureAtlas {
+    static final int PADDING = 1; //Empty space between images so drawing part of the atlas rotated does not blend in the neighbours' pixels
+    
+    final BufferedImage atlas;
+    final Map<String, BufferedImage> regions;
+    
+    TextureAtlas(BufferedImage atlas, Map<String, BufferedImage> regions) {
+        this.atlas = atlas;
+        this.regions = regions;
+    }
+    
+    //Packs every png in the folder, the folder is relative to the class the same way it is for loadImage
+    //Packs again on every call, Assets.atlas keeps the atlas so restarts can reuse it
+    public static TextureAtlas load(Class<?> base, String folder) {
+        List<String> names = list(base, folder);
+        List<String> paths = new ArrayList<>();
+        for (String name : names) paths.add(folder + "/" + name);
+        return pack(paths);
+    }
+    
+    //Packs the images at the given paths, each image can be found by its path afterwards
+    public static TextureAtlas pack(List<String> paths) {
+        List<String> order = new ArrayList<>(paths);
+        Map<String, BufferedImage> images = new HashMap<>();
+        int width = 0, area = 0;
+        List<BufferedImage> decoded = Assets.decodeAll(order); //Every image is decoded at the same time on the asset threads
+        for (int i = 0; i < order.size(); i++) {
+            String path = order.get(i);
+            BufferedImage image = decoded.get(i);
+            images.put(path, image);
+            width = Math.max(width, image.getWidth() + PADDING);
+            area += (image.getWidth() + PADDING) * (image.getHeight() + PADDING);
+        }
+        //Rows are filled from the tallest images to the shortest, which wastes the least space
+        order.sort((a, b) -> images.get(b).getHeight() - images.get(a).getHeight());
+        width = Math.max(width, (int) Math.ceil(Math.sqrt(area)));
+        
+        //Works out where each image goes, starting a new row when the current one is full
+        Map<String, int[]> spots = new HashMap<>();
+        int x = 0, y = 0, row = 0;
+        for (String path : order) {
+            BufferedImage image = images.get(path);
+            if (x + image.getWidth() > width) {
+                x = 0;
+                y += row + PADDING;
+                row = 0;
+            }
+            spots.put(path, new int[] {x, y});
+            x += image.getWidth() + PADDING;
+            row = Math.max(row, image.getHeight());
+        }
+        
+        BufferedImage atlas = Images.compatibleImage(Math.max(width, 1), Math.max(y + row, 1));
+        Graphics2D graphics = atlas.createGraphics();
+        Map<String, BufferedImage> regions = new HashMap<>();
+        for (String path : order) {
+            BufferedImage image = images.get(path);
+            int[] spot = spots.get(path);
+            graphics.drawImage(image, spot[0], spot[1], null);
+            //Sub images share the pixels of the atlas instead of copying them, draw uses that to find their part of the atlas
+            regions.put(path, atlas.getSubimage(spot[0], spot[1], image.getWidth(), image.getHeight()));
+        }
+        graphics.dispose();
+        return new TextureAtlas(atlas, regions);
+    }
+    
+    //Returns the part of the atlas for the image, the path is the same one that would be passed to loadImage
+    public BufferedImage get(String path) {
+        BufferedImage region = regions.get(path);
+        if (region == null) throw new IllegalArgumentException("Image not in atlas: " + path);
+        return region;
+    }
+    
+    //Same as loadSpriteSheet but the frames are parts of the atlas
+    public BufferedImage[] getSheet(String path, int width, int height) {
+        BufferedImage sheet = get(path);
+        int columns = sheet.getWidth() / width, rows = sheet.getHeight() / height;
+        BufferedImage[] frames = new BufferedImage[columns * rows];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                frames[row * columns + column] = sheet.getSubimage(column * width, row * height, width, height);
+            }
+        }
+        return frames;
+    }
+    
+    public boolean contains(String path) {
+        return regions.containsKey(path);
+    }
+    
+    //Draws an image from get or getSheet by copying its part of the atlas image, any other image is drawn normally
+    public void draw(Graphics2D painter, BufferedImage image, int x, int y) {
+        if (!owns(image)) {
+            painter.drawImage(image, x, y, null);
+            return;
+        }
+        int left = -image.getRaster().getSampleModelTranslateX(), top = -image.getRaster().getSampleModelTranslateY();
+        painter.drawImage(atlas, x, y, x + image.getWidth(), y + image.getHeight(),
+            left, top, left + image.getWidth(), top + image.getHeight(), null);
+    }
+    
+    //Same as painter.drawImage(image, transform, null), but reads the pixels from the atlas image
+    public void draw(Graphics2D painter, BufferedImage image, AffineTransform transform) {
+        if (!owns(image)) {
+            painter.drawImage(image, transform, null);
+            return;
+        }
+        AffineTransform saved = painter.getTransform();
+        painter.transform(transform);
+        draw(painter, image, 0, 0);
+        painter.setTransform(saved);
+    }
+    
+    //Checks if the image shares its pixels with the atlas, which is true for every image from get and getSheet
+    //Sub images keep a link to the pixels they came from along with how far into them they start, so no lookup table is needed
+    boolean owns(BufferedImage image) {
+        Raster raster = image.getRaster();
+        while (raster.getParent() != null) raster = raster.getParent();
+        return raster == atlas.getRaster();
+    }
+    
+    //The single packed image
+    public BufferedImage getImage() {
+        return atlas;
+    }
+    
+    //Finds every png in the folder, both when running from the build folder and from a jar
+    static List<String> list(Class<?> base, String folder) {
+        URL url = base.getResource(folder);
+        if (url == null) throw new IllegalArgumentException("Folder not found: " + folder);
+        List<String> names = new ArrayList<>();
+        try {
+            if (url.getProtocol().equals("jar")) {
+                JarURLConnection connection = (JarURLConnection) url.openConnection();
+                connection.setUseCaches(false); //Otherwise closing the jar would close it for everyone else too
+                String prefix = connection.getEntryName() + "/";
+                try (JarFile jar = connection.getJarFile()) {
+                    Enumeration<JarEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        String name = entries.nextElement().getName();
+                        if (name.startsWith(prefix) && name.endsWith(".png") && name.indexOf('/', prefix.length()) < 0)
+                            names.add(name.substring(prefix.length()));
+                    }
+                }
+            }
+            else {
+                File[] files = new File(url.toURI()).listFiles((dir, name) -> name.endsWith(".png"));
+                if (files != null) for (File file : files) names.add(file.getName());
+            }
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        catch (URISyntaxException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+        names.sort(null); //Keeps the layout the same every time
+        return names;
+    }
+}